@@ -2,8 +2,6 @@ package nz.ac.ara.adrianlim.eyeballmaze;
 
 import static androidx.test.espresso.Espresso.onView;
 import static androidx.test.espresso.action.ViewActions.click;
-import static androidx.test.espresso.Espresso.onData;
-import static org.hamcrest.Matchers.anything;
 import static androidx.test.espresso.assertion.ViewAssertions.doesNotExist;
 import static androidx.test.espresso.assertion.ViewAssertions.matches;
 import static androidx.test.espresso.matcher.ViewMatchers.isDisplayed;
@@ -11,7 +9,15 @@ import static androidx.test.espresso.matcher.ViewMatchers.withContentDescription
 import static androidx.test.espresso.matcher.ViewMatchers.withId;
 import static androidx.test.espresso.matcher.ViewMatchers.withText;
 
-import androidx.test.espresso.ViewInteraction;
+import android.view.InputDevice;
+import android.view.MotionEvent;
+import android.view.View;
+
+import androidx.test.espresso.ViewAction;
+import androidx.test.espresso.action.CoordinatesProvider;
+import androidx.test.espresso.action.GeneralClickAction;
+import androidx.test.espresso.action.Press;
+import androidx.test.espresso.action.Tap;
 import androidx.test.ext.junit.rules.ActivityScenarioRule;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 
@@ -36,8 +42,6 @@ public class MainActivityTest {
 
     @Test
     public void testGameRulesTextView() {
-        ViewInteraction gridView = onView(withId(R.id.grid_game_level));
-        gridView.perform(click());
         onView(withId(R.id.text_rule_dialog)).check(matches(withText("Select a tile to make a move")));
     }
 
@@ -63,18 +67,16 @@ public class MainActivityTest {
     }
 
     @Test
-    public void testLevelGridViewDisplayed() {
-        // Check if the level GridView is displayed
-        onView(withId(R.id.grid_game_level))
+    public void testLevelBoardViewDisplayed() {
+        // Check if the level BoardView is displayed
+        onView(withId(R.id.board_game_level))
                 .check(matches(isDisplayed()));
     }
 
     @Test
     public void testUndoButton() {
-        onData(anything())
-                .inAdapterView(withId(R.id.grid_game_level))
-                .atPosition(13)
-                .perform(click());
+        onView(withId(R.id.board_game_level))
+                .perform(clickCell(13));
 
         onView(withId(R.id.action_undo))
                 .perform(click());
@@ -94,7 +96,7 @@ public class MainActivityTest {
         onView(withText("Continue"))
                 .perform(click());
 
-        onView(withId(R.id.grid_game_level))
+        onView(withId(R.id.board_game_level))
                 .check(matches(isDisplayed()));
     }
 
@@ -113,16 +115,14 @@ public class MainActivityTest {
                 .check(doesNotExist());
     }
 
-    /* To test the gridView level, picture the levelLayout as a flatten array (from line 93 of MainActivity.java)
+    /* To test the board, picture the levelLayout as a flatten array (from createGame in MainActivity.java)
      * [0, 0, 11, 0, 1, 12, 8, 2, 10, 15, 14, 8, 11, 9, 15, 10, 13, 7, 9, 5, 0, 5, 0, 6]
      *  0  1  2   3  4  5   6  7  8   9   10  11 12  13 14  15  16  17 18 19 20 21 22 23
      * */
     @Test
     public void testValidTileClick() {
-        onData(anything())
-                .inAdapterView(withId(R.id.grid_game_level))
-                .atPosition(17)
-                .perform(click());
+        onView(withId(R.id.board_game_level))
+                .perform(clickCell(17));
 
         onView(withId(R.id.text_move_count))
                 .check(matches(withText("Moves: 1")));
@@ -130,10 +130,8 @@ public class MainActivityTest {
 
     @Test
     public void testCannotMoveDiagonally() {
-        onData(anything())
-                .inAdapterView(withId(R.id.grid_game_level))
-                .atPosition(0)
-                .perform(click());
+        onView(withId(R.id.board_game_level))
+                .perform(clickCell(0));
 
         onView(withId(R.id.text_rule_dialog))
                 .check(matches(withText("Cannot move diagonally")));
@@ -142,20 +140,14 @@ public class MainActivityTest {
     @Test
     public void testGameOverDialogNoLegalMoves() {
 
-        onData(anything())
-                .inAdapterView(withId(R.id.grid_game_level))
-                .atPosition(17)
-                .perform(click());
+        onView(withId(R.id.board_game_level))
+                .perform(clickCell(17));
 
-        onData(anything())
-                .inAdapterView(withId(R.id.grid_game_level))
-                .atPosition(19)
-                .perform(click());
+        onView(withId(R.id.board_game_level))
+                .perform(clickCell(19));
 
-        onData(anything())
-                .inAdapterView(withId(R.id.grid_game_level))
-                .atPosition(23)
-                .perform(click());
+        onView(withId(R.id.board_game_level))
+                .perform(clickCell(23));
 
         onView(withText("Game Over"))
                 .check(matches(isDisplayed()));
@@ -171,4 +163,19 @@ public class MainActivityTest {
         onView(withId(R.id.text_move_count)).check(matches(withText("Moves: 0")));
         onView(withId(R.id.text_goal_count)).check(matches(withText("Goal: 0/1")));
     }
-}
\ No newline at end of file
+
+    // Taps the centre of a cell, numbered row by row like the flattened level layout
+    private static ViewAction clickCell(final int position) {
+        return new GeneralClickAction(Tap.SINGLE, new CoordinatesProvider() {
+            @Override
+            public float[] calculateCoordinates(View view) {
+                BoardView boardView = (BoardView) view;
+                int row = position / boardView.getColumnCount();
+                int column = position % boardView.getColumnCount();
+                int[] location = new int[2];
+                view.getLocationOnScreen(location);
+                return new float[]{location[0] + boardView.getCellCenterX(column), location[1] + boardView.getCellCenterY(row)};
+            }
+        }, Press.FINGER, InputDevice.SOURCE_UNKNOWN, MotionEvent.BUTTON_PRIMARY);
+    }
+}
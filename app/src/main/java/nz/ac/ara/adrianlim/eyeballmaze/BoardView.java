@@ -0,0 +1,289 @@
+package nz.ac.ara.adrianlim.eyeballmaze;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.Rect;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.View;
+
+import java.util.Arrays;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+import nz.ac.ara.adrianlim.eyeballmaze.interfaces.IGameListener;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Cells;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Game;
+import nz.ac.ara.adrianlim.eyeballmaze.models.GameChanges;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Tiles;
+
+// Draws the whole board in one view. Every tile, the goal and the eyeball sprites are scaled to the
+// cell size once and packed into a single atlas bitmap. The board is kept in a backing bitmap.
+// The view listens to the game and redraws only the cells named in each batch of changes, so
+// onDraw is a single bitmap copy and a move costs the same however big the board is.
+public class BoardView extends View implements IGameListener {
+
+    public interface OnCellClickListener {
+        void onCellClick(int row, int column);
+    }
+
+    // Atlas layout: sprites for tile codes 1-16, then the goal, then the eyeball for each direction
+    private static final int GOAL_SPRITE = 16;
+    private static final int EYEBALL_SPRITE = GOAL_SPRITE + 1;
+    private static final int SPRITE_COUNT = EYEBALL_SPRITE + Direction.values().length;
+
+    // What a cell was drawn with, packed as tile code | goal << 8 | (eyeball direction + 1) << 9
+    private static final int GOAL_BIT = 1 << 8;
+    private static final int EYEBALL_SHIFT = 9;
+    private static final int NOT_DRAWN = -1;
+
+    private final Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    private final Rect source = new Rect();
+    private final Rect destination = new Rect();
+
+    private Game game;
+    private OnCellClickListener cellClickListener;
+
+    private int rows;
+    private int columns;
+    private int cellSize;
+    private int boardLeft;
+    private int boardTop;
+
+    private Bitmap atlas;
+    private Bitmap board;
+    private Canvas boardCanvas;
+    private int[] drawnCells = new int[0];
+    private long lastTouchTime;
+
+    public BoardView(Context context) {
+        super(context);
+    }
+
+    public BoardView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+    }
+
+    public BoardView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+    }
+
+    public void setGame(Game game) {
+        if (this.game != null) {
+            this.game.removeGameListener(this);
+        }
+        this.game = game;
+        game.addGameListener(this);
+        updateLevelSize();
+    }
+
+    private void updateLevelSize() {
+        rows = game.getLevelHeight();
+        columns = game.getLevelWidth();
+        drawnCells = new int[rows * columns];
+        layoutBoard(getWidth(), getHeight());
+    }
+
+    public void setOnCellClickListener(OnCellClickListener listener) {
+        this.cellClickListener = listener;
+    }
+
+    public int getRowCount() {
+        return rows;
+    }
+
+    public int getColumnCount() {
+        return columns;
+    }
+
+    // When the last tap was released, in SystemClock.uptimeMillis time
+    public long getLastTouchTime() {
+        return lastTouchTime;
+    }
+
+    // Centre of a cell in view coordinates
+    public int getCellCenterX(int column) {
+        return boardLeft + column * cellSize + cellSize / 2;
+    }
+
+    public int getCellCenterY(int row) {
+        return boardTop + row * cellSize + cellSize / 2;
+    }
+
+    @Override
+    public void onGameChanged(GameChanges changes) {
+        if (changes.getCause() == GameChanges.CAUSE_RESET) {
+            // The level may have been swapped for one of another size
+            if (game.getLevelHeight() != rows || game.getLevelWidth() != columns) {
+                updateLevelSize();
+            } else {
+                refresh();
+            }
+            return;
+        }
+        if (board == null) {
+            return;
+        }
+        refreshCell(changes.getPreviousEyeballCell());
+        for (int i = 0; i < changes.size(); i++) {
+            refreshCell(changes.getCell(i));
+        }
+        invalidate();
+    }
+
+    // Redraws every cell whose tile, goal or eyeball changed since it was last drawn
+    public void refresh() {
+        if (game == null || board == null) {
+            return;
+        }
+        boolean changed = false;
+        for (int cell = 0; cell < drawnCells.length; cell++) {
+            changed |= refreshCell(cell);
+        }
+        if (changed) {
+            invalidate();
+        }
+    }
+
+    private boolean refreshCell(int cell) {
+        if (cell < 0 || cell >= drawnCells.length) {
+            return false;
+        }
+        int row = Cells.row(cell, columns);
+        int col = Cells.column(cell, columns);
+        int state = game.getTileCodeAt(row, col);
+        if (game.hasGoalAt(row, col)) {
+            state |= GOAL_BIT;
+        }
+        if (row == game.getEyeballRow() && col == game.getEyeballColumn()) {
+            state |= (game.getEyeballDirection().ordinal() + 1) << EYEBALL_SHIFT;
+        }
+        if (drawnCells[cell] == state) {
+            return false;
+        }
+        drawCell(row, col, state);
+        drawnCells[cell] = state;
+        return true;
+    }
+
+    // Forces one cell to be drawn again at the next refresh
+    public void invalidateCell(int row, int column) {
+        drawnCells[Cells.pack(row, column, columns)] = NOT_DRAWN;
+    }
+
+    @Override
+    protected void onSizeChanged(int width, int height, int oldWidth, int oldHeight) {
+        super.onSizeChanged(width, height, oldWidth, oldHeight);
+        layoutBoard(width, height);
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        if (board != null) {
+            canvas.drawBitmap(board, boardLeft, boardTop, null);
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (game == null || cellSize == 0) {
+            return super.onTouchEvent(event);
+        }
+        if (event.getAction() == MotionEvent.ACTION_UP) {
+            lastTouchTime = event.getEventTime();
+            performClick();
+            int col = ((int) event.getX() - boardLeft) / cellSize;
+            int row = ((int) event.getY() - boardTop) / cellSize;
+            if (event.getX() >= boardLeft && event.getY() >= boardTop && row < rows && col < columns
+                    && cellClickListener != null) {
+                cellClickListener.onCellClick(row, col);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean performClick() {
+        return super.performClick();
+    }
+
+    // Sizes square cells to fit the view, centres the board and rebuilds the atlas at the new cell size
+    private void layoutBoard(int width, int height) {
+        if (game == null || width == 0 || height == 0) {
+            return;
+        }
+        int newCellSize = Math.max(1, Math.min(width / columns, height / rows));
+        boardLeft = (width - newCellSize * columns) / 2;
+        boardTop = (height - newCellSize * rows) / 2;
+        if (newCellSize != cellSize || atlas == null) {
+            cellSize = newCellSize;
+            buildAtlas();
+        }
+        if (board == null || board.getWidth() != cellSize * columns || board.getHeight() != cellSize * rows) {
+            if (board != null) {
+                board.recycle();
+            }
+            board = Bitmap.createBitmap(cellSize * columns, cellSize * rows, Bitmap.Config.ARGB_8888);
+            boardCanvas = new Canvas(board);
+        }
+        Arrays.fill(drawnCells, NOT_DRAWN);
+        refresh();
+    }
+
+    private void buildAtlas() {
+        if (atlas != null) {
+            atlas.recycle();
+        }
+        atlas = Bitmap.createBitmap(cellSize * SPRITE_COUNT, cellSize, Bitmap.Config.ARGB_8888);
+        Canvas atlasCanvas = new Canvas(atlas);
+        for (int code = 1; code <= GOAL_SPRITE; code++) {
+            addSprite(atlasCanvas, code - 1, TileDrawables.forTile(code));
+        }
+        addSprite(atlasCanvas, GOAL_SPRITE, R.drawable.goal);
+        for (Direction direction : Direction.values()) {
+            addSprite(atlasCanvas, EYEBALL_SPRITE + direction.ordinal(), TileDrawables.forEyeball(direction));
+        }
+    }
+
+    private void addSprite(Canvas atlasCanvas, int sprite, int drawable) {
+        Bitmap bitmap = BitmapFactory.decodeResource(getResources(), drawable);
+        if (bitmap == null) {
+            return;
+        }
+        destination.set(sprite * cellSize, 0, (sprite + 1) * cellSize, cellSize);
+        atlasCanvas.drawBitmap(bitmap, null, destination, paint);
+        bitmap.recycle();
+    }
+
+    private void drawCell(int row, int col, int state) {
+        int left = col * cellSize;
+        int top = row * cellSize;
+        boardCanvas.save();
+        boardCanvas.clipRect(left, top, left + cellSize, top + cellSize);
+        boardCanvas.drawColor(0, PorterDuff.Mode.CLEAR);
+        boardCanvas.restore();
+
+        int code = state & 0xFF;
+        // Codes without artwork (blank, purple and lightning) are left empty, as before
+        if (code > Tiles.BLANK && code <= GOAL_SPRITE) {
+            drawSprite(code - 1, left, top);
+        }
+        if ((state & GOAL_BIT) != 0) {
+            drawSprite(GOAL_SPRITE, left, top);
+        }
+        int eyeball = state >>> EYEBALL_SHIFT;
+        if (eyeball != 0) {
+            drawSprite(EYEBALL_SPRITE + eyeball - 1, left, top);
+        }
+    }
+
+    private void drawSprite(int sprite, int left, int top) {
+        source.set(sprite * cellSize, 0, (sprite + 1) * cellSize, cellSize);
+        destination.set(left, top, left + cellSize, top + cellSize);
+        boardCanvas.drawBitmap(atlas, source, destination, null);
+    }
+}
@@ -5,46 +5,69 @@ import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 
 import android.content.DialogInterface;
-import android.media.MediaPlayer;
 import android.os.Bundle;
 import android.os.Handler;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.Choreographer;
 import android.view.MenuItem;
 import android.view.View;
-import android.widget.AdapterView;
-import android.widget.GridView;
 import android.widget.ImageButton;
 import android.widget.TextView;
 import android.widget.VideoView;
 
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Locale;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
 import nz.ac.ara.adrianlim.eyeballmaze.enums.Message;
+import nz.ac.ara.adrianlim.eyeballmaze.interfaces.IGameListener;
 import nz.ac.ara.adrianlim.eyeballmaze.models.Game;
+import nz.ac.ara.adrianlim.eyeballmaze.models.GameChanges;
+import nz.ac.ara.adrianlim.eyeballmaze.models.GameSnapshot;
+import nz.ac.ara.adrianlim.eyeballmaze.models.hint.Hint;
+import nz.ac.ara.adrianlim.eyeballmaze.models.hint.HintEngine;
+import nz.ac.ara.adrianlim.eyeballmaze.models.replay.MoveLog;
+import nz.ac.ara.adrianlim.eyeballmaze.models.replay.ReplayRecorder;
+import nz.ac.ara.adrianlim.eyeballmaze.sound.SoundEffect;
+import nz.ac.ara.adrianlim.eyeballmaze.sound.SoundEngine;
+import nz.ac.ara.adrianlim.eyeballmaze.sound.SoundPoolBackend;
+import nz.ac.ara.adrianlim.eyeballmaze.trace.MoveStage;
+import nz.ac.ara.adrianlim.eyeballmaze.trace.MoveTracer;
 
 public class MainActivity extends AppCompatActivity {
     private static final String VIDEO_PATH = "android.resource://%s/" + R.raw.rules_video;
     private static final String DIALOG_TITLE_GAME_OVER = "Game Over";
     private static final String DIALOG_TITLE_CONGRATULATIONS = "Congratulations!";
     private static final String DIALOG_MESSAGE_NO_MOVES = "You lost as there are no legal moves to make.";
+    private static final String DIALOG_MESSAGE_NOT_WINNABLE = "You lost as the remaining goals can no longer be reached.";
     private static final String DIALOG_MESSAGE_LEVEL_COMPLETED = "You have completed the level in %s!";
+    private static final String MOVE_TRACE_TAG = "MoveTrace";
+    private static final String MOVE_TRACE_FILE = "move_trace.txt";
+    private static final String TAG = "MainActivity";
+    private static final String STATE_GAME_SNAPSHOT = "game_snapshot";
+    private static final String STATE_MOVE_LOG = "move_log";
+    private static final String MOVE_LOG_FILE = "last_session.ebrl";
     private Game game;
-    private GridView gridView;
+    // Records the session for replays, written to MOVE_LOG_FILE when the activity pauses
+    private ReplayRecorder replayRecorder;
+    private BoardView boardView;
     private TextView levelNameTextView;
     private TextView dialogTextView;
     private TextView moveCountTextView;
     private TextView goalCountTextView;
-    private int moveCount = 0;
     private int initialGoalCount;
-    private MediaPlayer legalMoveSound;
-    private MediaPlayer illegalMoveSound;
-    private MediaPlayer goalReachedSound;
-    private MediaPlayer gameOverSound;
+    private SoundEngine soundEngine;
     private boolean isSoundOn = true;
-    private boolean isUndoUsed = false;
     private long startTime;
     private TextView elapsedTimeTextView;
     private String finalElapsedTime;
@@ -52,6 +75,21 @@ public class MainActivity extends AppCompatActivity {
     private boolean isPaused = false;
     private long pauseTime = 0;
     private final Handler handler = new Handler();
+    // Hints are worked out off the UI thread and posted back through the handler
+    private final HintEngine hintEngine = new HintEngine(new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            handler.post(command);
+        }
+    });
+    // Stage timings of each move, dumped to logcat and MOVE_TRACE_FILE when the activity pauses
+    private final MoveTracer moveTracer = new MoveTracer();
+    private final Choreographer.FrameCallback moveTraceFrameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            moveTracer.end(System.nanoTime());
+        }
+    };
     private final Runnable updateTimeRunnable = new Runnable() {
         @Override
         public void run() {
@@ -68,12 +106,57 @@ public class MainActivity extends AppCompatActivity {
         createViews();
         createSoundEffects();
         createGame();
-        setupGridViewListener();
+        if (savedInstanceState != null) {
+            restoreGame(savedInstanceState);
+        }
+        setupBoardViewListener();
         setupBottomNavigation();
     }
 
+    // The level is rebuilt by createGame, so the snapshot only needs the level index and the moves
+    @Override
+    protected void onSaveInstanceState(@NonNull Bundle outState) {
+        super.onSaveInstanceState(outState);
+        outState.putByteArray(STATE_GAME_SNAPSHOT, GameSnapshot.write(game, getElapsedMillis(), 0));
+        outState.putByteArray(STATE_MOVE_LOG, replayRecorder.getLog().toBytes());
+    }
+
+    private void restoreGame(Bundle savedInstanceState) {
+        byte[] snapshot = savedInstanceState.getByteArray(STATE_GAME_SNAPSHOT);
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            startTime = System.currentTimeMillis() - GameSnapshot.restore(game, snapshot);
+        } catch (IllegalArgumentException e) {
+            Log.w(TAG, "Could not restore the saved game", e);
+            game.restartLevel();
+            return;
+        }
+        updateElapsedTime();
+
+        // Carry on the session's move log, the recorder starts a new one if it does not fit the game
+        byte[] moveLog = savedInstanceState.getByteArray(STATE_MOVE_LOG);
+        if (moveLog != null) {
+            replayRecorder.stop();
+            try {
+                replayRecorder = new ReplayRecorder(game, MoveLog.fromBytes(moveLog));
+            } catch (IllegalArgumentException e) {
+                Log.w(TAG, "Could not restore the move log", e);
+                replayRecorder = new ReplayRecorder(game);
+            }
+        }
+
+        // The game over dialog is not kept across a restart of the activity, so show it again
+        if (game.getGoalCount() == 0) {
+            showGameOverDialog(true, null);
+        } else if (!game.isWinnable()) {
+            showGameOverDialog(false, game.hasLegalMoves() ? DIALOG_MESSAGE_NOT_WINNABLE : DIALOG_MESSAGE_NO_MOVES);
+        }
+    }
+
     private void createViews() {
-        gridView = findViewById(R.id.grid_game_level);
+        boardView = findViewById(R.id.board_game_level);
         levelNameTextView = findViewById(R.id.text_maze_level);
         elapsedTimeTextView = findViewById(R.id.text_elapsed_time);
         moveCountTextView = findViewById(R.id.text_move_count);
@@ -83,10 +166,10 @@ public class MainActivity extends AppCompatActivity {
     }
 
     private void createSoundEffects() {
-        legalMoveSound = MediaPlayer.create(this, R.raw.legal_move_sound);
-        illegalMoveSound = MediaPlayer.create(this, R.raw.illegal_move_sound);
-        goalReachedSound = MediaPlayer.create(this, R.raw.goal_reached_sound);
-        gameOverSound = MediaPlayer.create(this, R.raw.game_over_sound);
+        // Samples load in the background, a sound played before its sample is ready starts once it is
+        soundEngine = new SoundEngine(new SoundPoolBackend(this));
+        soundEngine.setEnabled(isSoundOn);
+        soundEngine.loadAll();
     }
 
     private void createGame() {
@@ -107,63 +190,91 @@ public class MainActivity extends AppCompatActivity {
         initialGoalCount = game.getGoalCount();
         goalCountTextView.setText(getString(R.string.goal_0, initialGoalCount));
 
-        GameGridAdapter gameGridAdapter = new GameGridAdapter(this, game);
-        gridView.setAdapter(gameGridAdapter);
+        boardView.setGame(game);
+        game.addGameListener(new IGameListener() {
+            @Override
+            public void onGameChanged(GameChanges changes) {
+                updateCounters(changes);
+            }
+        });
+
+        replayRecorder = new ReplayRecorder(game);
 
         updateLevelName();
         startTime = System.currentTimeMillis();
     }
 
-    private void setupGridViewListener() {
-        gridView.setOnItemClickListener(new AdapterView.OnItemClickListener() {
+    private void setupBoardViewListener() {
+        boardView.setOnCellClickListener(new BoardView.OnCellClickListener() {
             @Override
-            public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
-                handleGridItemClick(position);
+            public void onCellClick(int row, int column) {
+                handleCellClick(row, column);
             }
         });
     }
 
-    private void handleGridItemClick(int position) {
-        int tappedRow = position / game.getLevelWidth();
-        int tappedCol = position % game.getLevelWidth();
-
+    private void handleCellClick(int tappedRow, int tappedCol) {
+        moveTracer.begin(TimeUnit.MILLISECONDS.toNanos(SystemClock.uptimeMillis() - boardView.getLastTouchTime()));
         if (tappedRow == game.getEyeballRow() && tappedCol == game.getEyeballColumn()) {
+            moveTracer.cancel();
             dialogTextView.setText(R.string.you_are_already_here);
-            playSoundEffect(illegalMoveSound);
+            playSoundEffect(SoundEffect.ILLEGAL_MOVE);
             return;
         }
 
-        if (game.canMoveTo(tappedRow, tappedCol)) {
+        boolean canMove = game.canMoveTo(tappedRow, tappedCol);
+        moveTracer.mark(MoveStage.VALIDATE);
+        if (canMove) {
             game.moveTo(tappedRow, tappedCol);
-            playSoundEffect(legalMoveSound);
-            moveCount++;
-            moveCountTextView.setText(getString(R.string.moves, moveCount));
-
-            GameGridAdapter gameGridAdapter = (GameGridAdapter) gridView.getAdapter();
-            gameGridAdapter.notifyDataSetChanged();
-
-            if (game.getGoalCount() == 0) {
-                showGameOverDialog(true);
-                playSoundEffect(goalReachedSound);
-            } else if (!game.hasLegalMoves()) {
-                showGameOverDialog(false);
-                playSoundEffect(gameOverSound);
+            hintEngine.cancel();
+            moveTracer.mark(MoveStage.MOVE);
+
+            boolean isWin = game.getGoalCount() == 0;
+            // Report the loss as soon as it is certain, not only once the eyeball is stuck
+            boolean isLoss = !isWin && !game.isWinnable();
+            String lossMessage = isLoss && game.hasLegalMoves() ? DIALOG_MESSAGE_NOT_WINNABLE : DIALOG_MESSAGE_NO_MOVES;
+            moveTracer.mark(MoveStage.GAME_OVER);
+
+            playSoundEffect(SoundEffect.LEGAL_MOVE);
+            if (isWin) {
+                playSoundEffect(SoundEffect.GOAL_REACHED);
+            } else if (isLoss) {
+                playSoundEffect(SoundEffect.GAME_OVER);
             }
+            moveTracer.mark(MoveStage.SOUND);
+            Choreographer.getInstance().postFrameCallback(moveTraceFrameCallback);
 
-            goalCountTextView.setText(String.format(Locale.US, "%s%d/%d", getString(R.string.goal), game.getCompletedGoalCount(), initialGoalCount));
+            if (isWin || isLoss) {
+                showGameOverDialog(isWin, lossMessage);
+            }
         } else {
-            playSoundEffect(illegalMoveSound);
+            moveTracer.cancel();
+            playSoundEffect(SoundEffect.ILLEGAL_MOVE);
             Message message = game.MessageIfMovingTo(tappedRow, tappedCol);
             showInvalidMoveMessage(message);
         }
     }
 
-    private void playSoundEffect(MediaPlayer soundEffect) {
-        if (isSoundOn) {
-            soundEffect.start();
+    // The board view redraws its own cells, this keeps the move and goal counters in step
+    private void updateCounters(GameChanges changes) {
+        moveCountTextView.setText(getString(R.string.moves, game.getMoveCount()));
+        if (changes.getCause() == GameChanges.CAUSE_RESET) {
+            goalCountTextView.setText(String.format(Locale.US, "%s%d/%d", getString(R.string.goal), game.getCompletedGoalCount(), initialGoalCount));
+            return;
+        }
+        for (int i = 0; i < changes.size(); i++) {
+            int type = changes.getType(i);
+            if (type == GameChanges.GOAL_COMPLETED || type == GameChanges.GOAL_RESTORED) {
+                goalCountTextView.setText(String.format(Locale.US, "%s%d/%d", getString(R.string.goal), game.getCompletedGoalCount(), initialGoalCount));
+                break;
+            }
         }
     }
 
+    private void playSoundEffect(SoundEffect soundEffect) {
+        soundEngine.play(soundEffect);
+    }
+
     private void setupBottomNavigation() {
         BottomNavigationView bottomNavigationView = findViewById(R.id.bottom_navigation);
         bottomNavigationView.setOnNavigationItemSelectedListener(new BottomNavigationView.OnNavigationItemSelectedListener() {
@@ -176,6 +287,9 @@ public class MainActivity extends AppCompatActivity {
                 } else if (itemId == R.id.action_undo) {
                     handleUndo();
                     return true;
+                } else if (itemId == R.id.action_hint) {
+                    handleHint();
+                    return true;
                 } else if (itemId == R.id.action_pause) {
                     handlePause(item);
                     return true;
@@ -190,6 +304,7 @@ public class MainActivity extends AppCompatActivity {
 
     private void toggleSound(MenuItem item) {
         isSoundOn = !isSoundOn;
+        soundEngine.setEnabled(isSoundOn);
 
         if (isSoundOn) {
             item.setIcon(R.drawable.icon_sound_on);
@@ -199,21 +314,33 @@ public class MainActivity extends AppCompatActivity {
     }
 
     private void handleUndo() {
-        if (!isUndoUsed && moveCount > 0) {
+        if (game.canUndo()) {
             game.undoLastMove();
-            GameGridAdapter gameGridAdapter = (GameGridAdapter) gridView.getAdapter();
-            gameGridAdapter.notifyDataSetChanged();
-            isUndoUsed = true;
-            moveCount--;
-            moveCountTextView.setText(getString(R.string.moves, moveCount));
-
-        } else if (moveCount == 0) {
-            showNoMoveDialog();
+            hintEngine.cancel();
         } else {
-            showUndoUsedDialog();
+            showNoMoveDialog();
         }
     }
 
+    private void handleHint() {
+        if (isGameOver) {
+            return;
+        }
+        dialogTextView.setText(R.string.hint_thinking);
+        hintEngine.requestHint(game, new HintEngine.Listener() {
+            @Override
+            public void onHint(Hint hint) {
+                if (hint.isAvailable()) {
+                    dialogTextView.setText(getString(R.string.hint_move, hint.getRow() + 1, hint.getColumn() + 1));
+                } else if (!hint.isComplete()) {
+                    dialogTextView.setText(R.string.hint_timeout);
+                } else {
+                    dialogTextView.setText(R.string.hint_none);
+                }
+            }
+        });
+    }
+
     private void showNoMoveDialog() {
         AlertDialog.Builder builder = new AlertDialog.Builder(MainActivity.this);
         builder.setTitle("No Move Made")
@@ -227,29 +354,16 @@ public class MainActivity extends AppCompatActivity {
         dialog.show();
     }
 
-    private void showUndoUsedDialog() {
-        AlertDialog.Builder builder = new AlertDialog.Builder(MainActivity.this);
-        builder.setTitle("Undo Used")
-                .setMessage("Undo has already been used for this level. You cannot use it again.")
-                .setPositiveButton("OK", new DialogInterface.OnClickListener() {
-                    public void onClick(DialogInterface dialog, int id) {
-                        dialog.dismiss();
-                    }
-                });
-        AlertDialog dialog = builder.create();
-        dialog.show();
-    }
-
     private void handlePause(MenuItem item) {
             if (isPaused) {
                 isPaused = false;
-                gridView.setVisibility(View.VISIBLE);
+                boardView.setVisibility(View.VISIBLE);
                 startTime += System.currentTimeMillis() - pauseTime;
                 handler.postDelayed(updateTimeRunnable, 1000);
                 item.setIcon(R.drawable.icon_pause);
             } else {
                 isPaused = true;
-                gridView.setVisibility(View.INVISIBLE);
+                boardView.setVisibility(View.INVISIBLE);
                 pauseTime = System.currentTimeMillis();
                 handler.removeCallbacks(updateTimeRunnable);
                 item.setIcon(R.drawable.icon_pause);
@@ -267,15 +381,40 @@ public class MainActivity extends AppCompatActivity {
     protected void onPause() {
         super.onPause();
         handler.removeCallbacks(updateTimeRunnable);
+        dumpMoveTrace();
+        saveMoveLog();
     }
+
+    private void saveMoveLog() {
+        try (FileOutputStream out = new FileOutputStream(new File(getFilesDir(), MOVE_LOG_FILE))) {
+            out.write(replayRecorder.getLog().toBytes());
+        } catch (IOException e) {
+            Log.w(TAG, "Could not write " + MOVE_LOG_FILE, e);
+        }
+    }
+
+    // Writes the move stage histograms to logcat and the files directory for tools.AnalyseMoveTrace
+    private void dumpMoveTrace() {
+        StringBuilder trace = new StringBuilder();
+        try {
+            moveTracer.dump(trace);
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(new File(getFilesDir(), MOVE_TRACE_FILE)), StandardCharsets.UTF_8)) {
+                writer.write(trace.toString());
+            }
+        } catch (IOException e) {
+            Log.w(MOVE_TRACE_TAG, "Could not write " + MOVE_TRACE_FILE, e);
+        }
+        for (String line : trace.toString().split("\n")) {
+            Log.i(MOVE_TRACE_TAG, line);
+        }
+    }
+
     @Override
     protected void onDestroy() {
         super.onDestroy();
-
-        legalMoveSound.release();
-        illegalMoveSound.release();
-        goalReachedSound.release();
-        gameOverSound.release();
+        hintEngine.shutdown();
+        replayRecorder.stop();
+        soundEngine.release();
     }
 
     private void updateLevelName() {
@@ -312,12 +451,12 @@ public class MainActivity extends AppCompatActivity {
         videoView.start();
     }
 
-    private void showGameOverDialog(boolean isWin) {
+    private void showGameOverDialog(boolean isWin, String lossMessage) {
         isGameOver = true;
         handler.removeCallbacks(updateTimeRunnable);
 
         String title = isWin ? DIALOG_TITLE_CONGRATULATIONS : DIALOG_TITLE_GAME_OVER;
-        String message = isWin ? String.format(DIALOG_MESSAGE_LEVEL_COMPLETED, finalElapsedTime) : DIALOG_MESSAGE_NO_MOVES;
+        String message = isWin ? String.format(DIALOG_MESSAGE_LEVEL_COMPLETED, finalElapsedTime) : lossMessage;
 
         AlertDialog.Builder builder = new AlertDialog.Builder(this);
         builder.setTitle(title)
@@ -338,10 +477,21 @@ public class MainActivity extends AppCompatActivity {
         dialog.show();
     }
 
+    // Restarts in place: the game copies the level back from its template and the board and
+    // counters follow its reset, so the activity, sounds and views are kept
     private void restartLevel() {
-        isUndoUsed = false;
         isGameOver = false;
-        recreate();
+        hintEngine.cancel();
+        game.restartLevel();
+        dialogTextView.setText(getString(R.string.select_a_tile_to_make_a_move));
+
+        startTime = System.currentTimeMillis();
+        handler.removeCallbacks(updateTimeRunnable);
+        if (isPaused) {
+            pauseTime = startTime;
+        } else {
+            handler.post(updateTimeRunnable);
+        }
     }
 
     private void showConfirmQuitDialog() {
@@ -355,9 +505,7 @@ public class MainActivity extends AppCompatActivity {
                 })
                 .setNegativeButton("Restart Level", new DialogInterface.OnClickListener() {
                     public void onClick(DialogInterface confirmDialog, int confirmId) {
-                        isUndoUsed = false;
-                        isGameOver = false;
-                        recreate();
+                        restartLevel();
                     }
                 })
                 .show();
@@ -382,16 +530,13 @@ public class MainActivity extends AppCompatActivity {
         dialogTextView.setText(messageText);
     }
 
+    private long getElapsedMillis() {
+        return (isPaused ? pauseTime : System.currentTimeMillis()) - startTime;
+    }
+
     private void updateElapsedTime() {
         if (!isGameOver) {
-            long currentTime = System.currentTimeMillis();
-            long elapsedTime;
-
-            if (isPaused) {
-                elapsedTime = pauseTime - startTime;
-            } else {
-                elapsedTime = currentTime - startTime;
-            }
+            long elapsedTime = getElapsedMillis();
 
             String formattedTime = String.format(Locale.US, "%02d:%02d",
                     TimeUnit.MILLISECONDS.toMinutes(elapsedTime),
@@ -410,7 +555,7 @@ public class MainActivity extends AppCompatActivity {
                 .setPositiveButton("Continue", new DialogInterface.OnClickListener() {
                     public void onClick(DialogInterface dialog, int id) {
                         isPaused = false;
-                        gridView.setVisibility(View.VISIBLE);
+                        boardView.setVisibility(View.VISIBLE);
                         startTime += System.currentTimeMillis() - pauseTime;
                         handler.postDelayed(updateTimeRunnable, 1000);
                         dialog.dismiss();
@@ -0,0 +1,56 @@
+package nz.ac.ara.adrianlim.eyeballmaze;
+
+import java.util.Arrays;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Color;
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Shape;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Tiles;
+
+// Drawable lookup tables for the board, indexed by tile code and eyeball direction
+public final class TileDrawables {
+
+    private static final int[] TILES = new int[Tiles.COUNT];
+    private static final int[] EYEBALLS = new int[Direction.values().length];
+
+    static {
+        // Blank has no artwork and is drawn transparent
+        Arrays.fill(TILES, android.R.color.transparent);
+        put(Color.BLUE, Shape.CROSS, R.drawable.cross_blue);
+        put(Color.GREEN, Shape.CROSS, R.drawable.cross_green);
+        put(Color.RED, Shape.CROSS, R.drawable.cross_red);
+        put(Color.YELLOW, Shape.CROSS, R.drawable.cross_yellow);
+        put(Color.BLUE, Shape.DIAMOND, R.drawable.diamond_blue);
+        put(Color.GREEN, Shape.DIAMOND, R.drawable.diamond_green);
+        put(Color.RED, Shape.DIAMOND, R.drawable.diamond_red);
+        put(Color.YELLOW, Shape.DIAMOND, R.drawable.diamond_yellow);
+        put(Color.BLUE, Shape.FLOWER, R.drawable.flower_blue);
+        put(Color.GREEN, Shape.FLOWER, R.drawable.flower_green);
+        put(Color.RED, Shape.FLOWER, R.drawable.flower_red);
+        put(Color.YELLOW, Shape.FLOWER, R.drawable.flower_yellow);
+        put(Color.BLUE, Shape.STAR, R.drawable.star_blue);
+        put(Color.GREEN, Shape.STAR, R.drawable.star_green);
+        put(Color.RED, Shape.STAR, R.drawable.star_red);
+        put(Color.YELLOW, Shape.STAR, R.drawable.star_yellow);
+
+        EYEBALLS[Direction.UP.ordinal()] = R.drawable.player_eyes_up;
+        EYEBALLS[Direction.DOWN.ordinal()] = R.drawable.player_eyes_down;
+        EYEBALLS[Direction.LEFT.ordinal()] = R.drawable.player_eyes_left;
+        EYEBALLS[Direction.RIGHT.ordinal()] = R.drawable.player_eyes_right;
+    }
+
+    private TileDrawables() {
+    }
+
+    private static void put(Color color, Shape shape, int drawable) {
+        TILES[Tiles.codeOf(color, shape)] = drawable;
+    }
+
+    public static int forTile(int code) {
+        return TILES[code];
+    }
+
+    public static int forEyeball(Direction direction) {
+        return EYEBALLS[direction.ordinal()];
+    }
+}
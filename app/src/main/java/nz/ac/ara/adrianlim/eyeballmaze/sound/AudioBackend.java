@@ -0,0 +1,20 @@
+package nz.ac.ara.adrianlim.eyeballmaze.sound;
+
+// What SoundEngine needs from the platform audio, so tests can swap in a fake
+public interface AudioBackend {
+
+    interface LoadListener {
+        // sampleId is the value load returned
+        void onLoaded(int sampleId, boolean success);
+    }
+
+    void setLoadListener(LoadListener listener);
+
+    // Starts loading a raw resource in the background and returns its sample id
+    int load(int resourceId);
+
+    // Starts a new voice for a loaded sample, returns false if it could not be played
+    boolean play(int sampleId);
+
+    void release();
+}
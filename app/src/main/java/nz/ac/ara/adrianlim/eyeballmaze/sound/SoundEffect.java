@@ -0,0 +1,21 @@
+package nz.ac.ara.adrianlim.eyeballmaze.sound;
+
+import nz.ac.ara.adrianlim.eyeballmaze.R;
+
+// The game's sound effects and their res/raw resources
+public enum SoundEffect {
+    LEGAL_MOVE(R.raw.legal_move_sound),
+    ILLEGAL_MOVE(R.raw.illegal_move_sound),
+    GOAL_REACHED(R.raw.goal_reached_sound),
+    GAME_OVER(R.raw.game_over_sound);
+
+    private final int resourceId;
+
+    SoundEffect(int resourceId) {
+        this.resourceId = resourceId;
+    }
+
+    public int getResourceId() {
+        return resourceId;
+    }
+}
@@ -0,0 +1,137 @@
+package nz.ac.ara.adrianlim.eyeballmaze.sound;
+
+import java.util.Arrays;
+
+// Plays the game's sound effects through an AudioBackend. Every effect is loaded once in the
+// background when the engine starts. An effect played before its sample is ready is held and
+// started as soon as it loads, so early taps are not lost. The delay from each play call to the
+// backend starting the voice is recorded, so the latency can be checked on real devices.
+public class SoundEngine {
+
+    private static final SoundEffect[] EFFECTS = SoundEffect.values();
+    private static final int NOT_LOADED = 0;
+
+    private final AudioBackend backend;
+
+    // Indexed by effect ordinal
+    private final int[] sampleIds = new int[EFFECTS.length];
+    private final boolean[] loaded = new boolean[EFFECTS.length];
+    // Trigger time of a play waiting for its sample to load, 0 if none
+    private final long[] pendingSince = new long[EFFECTS.length];
+
+    private boolean enabled = true;
+    private boolean released;
+
+    // Play latency in nanoseconds
+    private long playCount;
+    private long totalLatency;
+    private long maxLatency;
+    private long lastLatency;
+    private long droppedCount;
+
+    public SoundEngine(AudioBackend backend) {
+        this.backend = backend;
+        backend.setLoadListener(new AudioBackend.LoadListener() {
+            @Override
+            public void onLoaded(int sampleId, boolean success) {
+                sampleLoaded(sampleId, success);
+            }
+        });
+    }
+
+    // Starts loading every effect and returns straight away
+    public synchronized void loadAll() {
+        for (SoundEffect effect : EFFECTS) {
+            if (sampleIds[effect.ordinal()] == NOT_LOADED) {
+                sampleIds[effect.ordinal()] = backend.load(effect.getResourceId());
+            }
+        }
+    }
+
+    // Follows the sound toggle, a disabled engine drops plays and anything waiting to play
+    public synchronized void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            Arrays.fill(pendingSince, 0);
+        }
+    }
+
+    public synchronized boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized boolean isLoaded(SoundEffect effect) {
+        return loaded[effect.ordinal()];
+    }
+
+    public synchronized void play(SoundEffect effect) {
+        if (!enabled || released) {
+            return;
+        }
+        long triggered = System.nanoTime();
+        int index = effect.ordinal();
+        if (loaded[index]) {
+            start(index, triggered);
+        } else if (pendingSince[index] == 0) {
+            pendingSince[index] = triggered;
+        }
+    }
+
+    public synchronized void release() {
+        released = true;
+        backend.release();
+    }
+
+    private synchronized void sampleLoaded(int sampleId, boolean success) {
+        for (int index = 0; index < EFFECTS.length; index++) {
+            if (sampleIds[index] != sampleId) {
+                continue;
+            }
+            loaded[index] = success;
+            if (pendingSince[index] != 0) {
+                long triggered = pendingSince[index];
+                pendingSince[index] = 0;
+                if (success && enabled && !released) {
+                    start(index, triggered);
+                } else {
+                    droppedCount++;
+                }
+            }
+        }
+    }
+
+    private void start(int index, long triggered) {
+        if (!backend.play(sampleIds[index])) {
+            droppedCount++;
+            return;
+        }
+        long latency = System.nanoTime() - triggered;
+        playCount++;
+        totalLatency += latency;
+        lastLatency = latency;
+        maxLatency = Math.max(maxLatency, latency);
+    }
+
+    // Latency statistics
+
+    public synchronized long getPlayCount() {
+        return playCount;
+    }
+
+    // Plays the backend refused or that were waiting on a sample that failed to load
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    public synchronized long getLastLatencyNanos() {
+        return lastLatency;
+    }
+
+    public synchronized long getMaxLatencyNanos() {
+        return maxLatency;
+    }
+
+    public synchronized long getMeanLatencyNanos() {
+        return playCount == 0 ? 0 : totalLatency / playCount;
+    }
+}
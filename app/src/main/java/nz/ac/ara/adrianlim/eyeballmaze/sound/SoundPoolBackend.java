@@ -0,0 +1,52 @@
+package nz.ac.ara.adrianlim.eyeballmaze.sound;
+
+import android.content.Context;
+import android.media.AudioAttributes;
+import android.media.SoundPool;
+
+// AudioBackend on SoundPool: samples are decoded once into memory in the background and each play
+// is a new stream, so effects start quickly and can overlap, including with themselves
+public class SoundPoolBackend implements AudioBackend {
+
+    // Voices that can play at once before the oldest is stopped
+    private static final int MAX_STREAMS = 8;
+
+    private final Context context;
+    private final SoundPool soundPool;
+
+    public SoundPoolBackend(Context context) {
+        this.context = context.getApplicationContext();
+        this.soundPool = new SoundPool.Builder()
+                .setMaxStreams(MAX_STREAMS)
+                .setAudioAttributes(new AudioAttributes.Builder()
+                        .setUsage(AudioAttributes.USAGE_GAME)
+                        .setContentType(AudioAttributes.CONTENT_TYPE_SONIFICATION)
+                        .build())
+                .build();
+    }
+
+    @Override
+    public void setLoadListener(final LoadListener listener) {
+        soundPool.setOnLoadCompleteListener(new SoundPool.OnLoadCompleteListener() {
+            @Override
+            public void onLoadComplete(SoundPool pool, int sampleId, int status) {
+                listener.onLoaded(sampleId, status == 0);
+            }
+        });
+    }
+
+    @Override
+    public int load(int resourceId) {
+        return soundPool.load(context, resourceId, 1);
+    }
+
+    @Override
+    public boolean play(int sampleId) {
+        return soundPool.play(sampleId, 1f, 1f, 1, 0, 1f) != 0;
+    }
+
+    @Override
+    public void release() {
+        soundPool.release();
+    }
+}
@@ -0,0 +1,62 @@
+package nz.ac.ara.adrianlim.eyeballmaze.sound;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// AudioBackend for unit tests: loads finish only when the test says so and plays are recorded
+class FakeAudioBackend implements AudioBackend {
+
+    private LoadListener loadListener;
+    private final List<Integer> loadedResources = new ArrayList<>();
+    private final List<Integer> playedSamples = new ArrayList<>();
+    private boolean released;
+
+    @Override
+    public void setLoadListener(LoadListener listener) {
+        this.loadListener = listener;
+    }
+
+    // Sample ids start at 1 like SoundPool's
+    @Override
+    public int load(int resourceId) {
+        loadedResources.add(resourceId);
+        return loadedResources.size();
+    }
+
+    @Override
+    public boolean play(int sampleId) {
+        playedSamples.add(sampleId);
+        return true;
+    }
+
+    @Override
+    public void release() {
+        released = true;
+    }
+
+    void finishLoading(SoundEffect effect, boolean success) {
+        loadListener.onLoaded(sampleIdOf(effect), success);
+    }
+
+    void finishLoadingAll() {
+        for (SoundEffect effect : SoundEffect.values()) {
+            finishLoading(effect, true);
+        }
+    }
+
+    int sampleIdOf(SoundEffect effect) {
+        return loadedResources.indexOf(effect.getResourceId()) + 1;
+    }
+
+    int getLoadCount() {
+        return loadedResources.size();
+    }
+
+    List<Integer> getPlayedSamples() {
+        return playedSamples;
+    }
+
+    boolean isReleased() {
+        return released;
+    }
+}
@@ -0,0 +1,100 @@
+package nz.ac.ara.adrianlim.eyeballmaze.sound;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class SoundEngineTest {
+
+    private FakeAudioBackend backend;
+    private SoundEngine engine;
+
+    @Before
+    public void setUp() {
+        backend = new FakeAudioBackend();
+        engine = new SoundEngine(backend);
+        engine.loadAll();
+    }
+
+    @Test
+    public void loadAll_loadsEachEffectOnce() {
+        engine.loadAll();
+        assertEquals(SoundEffect.values().length, backend.getLoadCount());
+    }
+
+    @Test
+    public void play_loadedEffect_startsVoice() {
+        backend.finishLoadingAll();
+        engine.play(SoundEffect.LEGAL_MOVE);
+        assertEquals(Collections.singletonList(backend.sampleIdOf(SoundEffect.LEGAL_MOVE)), backend.getPlayedSamples());
+        assertEquals(1, engine.getPlayCount());
+    }
+
+    @Test
+    public void play_sameEffectRepeatedly_overlapsVoices() {
+        backend.finishLoadingAll();
+        engine.play(SoundEffect.LEGAL_MOVE);
+        engine.play(SoundEffect.LEGAL_MOVE);
+        engine.play(SoundEffect.GOAL_REACHED);
+        assertEquals(3, backend.getPlayedSamples().size());
+    }
+
+    @Test
+    public void play_beforeLoaded_startsOnceLoaded() {
+        engine.play(SoundEffect.GAME_OVER);
+        assertTrue(backend.getPlayedSamples().isEmpty());
+        backend.finishLoading(SoundEffect.GAME_OVER, true);
+        assertEquals(Collections.singletonList(backend.sampleIdOf(SoundEffect.GAME_OVER)), backend.getPlayedSamples());
+        assertTrue(engine.isLoaded(SoundEffect.GAME_OVER));
+    }
+
+    @Test
+    public void play_beforeLoadFails_isDropped() {
+        engine.play(SoundEffect.ILLEGAL_MOVE);
+        backend.finishLoading(SoundEffect.ILLEGAL_MOVE, false);
+        assertTrue(backend.getPlayedSamples().isEmpty());
+        assertEquals(1, engine.getDroppedCount());
+    }
+
+    @Test
+    public void play_whenDisabled_isSilent() {
+        backend.finishLoadingAll();
+        engine.setEnabled(false);
+        engine.play(SoundEffect.LEGAL_MOVE);
+        assertTrue(backend.getPlayedSamples().isEmpty());
+    }
+
+    @Test
+    public void setEnabled_false_dropsPendingPlays() {
+        engine.play(SoundEffect.LEGAL_MOVE);
+        engine.setEnabled(false);
+        engine.setEnabled(true);
+        backend.finishLoadingAll();
+        assertTrue(backend.getPlayedSamples().isEmpty());
+    }
+
+    @Test
+    public void release_releasesBackendAndStopsPlaying() {
+        backend.finishLoadingAll();
+        engine.release();
+        engine.play(SoundEffect.LEGAL_MOVE);
+        assertTrue(backend.isReleased());
+        assertTrue(backend.getPlayedSamples().isEmpty());
+    }
+
+    @Test
+    public void latency_isRecordedForEachPlay() {
+        engine.play(SoundEffect.GOAL_REACHED);
+        backend.finishLoadingAll();
+        engine.play(SoundEffect.LEGAL_MOVE);
+        assertEquals(2, engine.getPlayCount());
+        assertTrue(engine.getMaxLatencyNanos() >= engine.getLastLatencyNanos());
+        assertTrue(engine.getMeanLatencyNanos() <= engine.getMaxLatencyNanos());
+        assertEquals(Arrays.asList(backend.sampleIdOf(SoundEffect.GOAL_REACHED), backend.sampleIdOf(SoundEffect.LEGAL_MOVE)),
+                backend.getPlayedSamples());
+    }
+}
@@ -0,0 +1,40 @@
+plugins {
+    id("java-library")
+    id("me.champeau.jmh")
+}
+
+// Game engine (models, enums, interfaces) with no Android dependencies, so it can be
+// built, tested and benchmarked on a plain JVM
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+dependencies {
+    testImplementation("junit:junit:4.13.2")
+}
+
+// Run with ./gradlew :core:jmh, results are written to core/build/results/jmh
+jmh {
+    jmhVersion.set("1.37")
+    profilers.add("gc")
+    resultFormat.set("JSON")
+}
+
+// Checks level packs for the content pipeline, e.g.
+// ./gradlew :core:validateLevels --args="--output build/levels.json path/to/packs"
+tasks.register<JavaExec>("validateLevels") {
+    group = "verification"
+    description = "Validates and solves every level in the given level packs"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("nz.ac.ara.adrianlim.eyeballmaze.tools.ValidateLevels")
+}
+
+// Prints p50/p99 per move stage from dumps written by the app, e.g.
+// ./gradlew :core:analyseMoveTrace --args="move_trace.txt"
+tasks.register<JavaExec>("analyseMoveTrace") {
+    group = "verification"
+    description = "Prints move stage latency percentiles from move trace dumps"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("nz.ac.ara.adrianlim.eyeballmaze.tools.AnalyseMoveTrace")
+}
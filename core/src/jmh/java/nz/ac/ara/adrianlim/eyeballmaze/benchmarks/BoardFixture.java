@@ -0,0 +1,82 @@
+package nz.ac.ara.adrianlim.eyeballmaze.benchmarks;
+
+import java.util.Random;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Game;
+
+// Builds the boards used by the benchmarks. "6x4" is the level shipped in MainActivity,
+// every other size is a seeded random board with no blanks, so paths run the full row.
+public class BoardFixture {
+
+    private static final int[][] SHIPPED_LEVEL = {
+            {0, 0, 11, 0},
+            {1, 12, 8, 2},
+            {10, 15, 14, 8},
+            {11, 9, 15, 10},
+            {13, 7, 9, 5},
+            {0, 5, 0, 6}
+    };
+
+    final int[][] layout;
+    final int eyeballRow;
+    final int eyeballColumn;
+    final Direction eyeballDirection;
+    final int goalRow;
+    final int goalColumn;
+
+    // A legal move that stays legal after undoLastMove, so move/undo can be repeated
+    final int targetRow;
+    final int targetColumn;
+
+    BoardFixture(String size) {
+        if ("6x4".equals(size)) {
+            layout = SHIPPED_LEVEL;
+            eyeballRow = 5;
+            eyeballColumn = 1;
+            eyeballDirection = Direction.UP;
+            goalRow = 0;
+            goalColumn = 2;
+            targetRow = 4;
+            targetColumn = 1;
+            return;
+        }
+
+        String[] parts = size.split("x");
+        int height = Integer.parseInt(parts[0]);
+        int width = Integer.parseInt(parts[1]);
+        Random random = new Random(42);
+        layout = new int[height][width];
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                layout[row][col] = 1 + random.nextInt(16);
+            }
+        }
+
+        // Eyeball in the middle, with a matching square at the far left of its row
+        eyeballRow = height / 2;
+        eyeballColumn = width / 2;
+        eyeballDirection = Direction.UP;
+        goalRow = 0;
+        goalColumn = 0;
+        targetRow = eyeballRow;
+        targetColumn = 0;
+        layout[targetRow][targetColumn] = layout[eyeballRow][eyeballColumn];
+    }
+
+    int getHeight() {
+        return layout.length;
+    }
+
+    int getWidth() {
+        return layout[0].length;
+    }
+
+    Game createGame() {
+        Game game = new Game();
+        game.addLevel("Benchmark " + getHeight() + "x" + getWidth(), layout);
+        game.addGoal(goalRow, goalColumn);
+        game.addEyeball(eyeballRow, eyeballColumn, eyeballDirection);
+        return game;
+    }
+}
@@ -0,0 +1,72 @@
+package nz.ac.ara.adrianlim.eyeballmaze.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import nz.ac.ara.adrianlim.eyeballmaze.models.Game;
+
+// Move engine benchmarks run through the public Game API
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+
+    @Param({"6x4", "64x64", "256x256", "1000x1000"})
+    public String size;
+
+    private BoardFixture board;
+    private Game game;
+    private int[] moves;
+
+    @Setup
+    public void setUp() {
+        board = new BoardFixture(size);
+        game = board.createGame();
+        moves = new int[game.getLevelHeight() + game.getLevelWidth()];
+    }
+
+    @Benchmark
+    public boolean canMoveTo() {
+        return game.canMoveTo(board.targetRow, board.targetColumn);
+    }
+
+    @Benchmark
+    public int legalMoves() {
+        return game.legalMoves(moves);
+    }
+
+    @Benchmark
+    public int moveToAndUndo() {
+        game.moveTo(board.targetRow, board.targetColumn);
+        game.undoLastMove();
+        return game.getEyeballColumn();
+    }
+
+    // setLevel drops any cached legal moves, so this measures a full game-over check
+    @Benchmark
+    public boolean hasLegalMoves() {
+        game.setLevel(0);
+        return game.hasLegalMoves();
+    }
+
+    // setLevel also drops the cached verdicts, so this measures a full winnability analysis
+    @Benchmark
+    public boolean isWinnable() {
+        game.setLevel(0);
+        return game.isWinnable();
+    }
+}
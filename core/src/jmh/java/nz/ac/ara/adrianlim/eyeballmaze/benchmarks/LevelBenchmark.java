@@ -0,0 +1,70 @@
+package nz.ac.ara.adrianlim.eyeballmaze.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import nz.ac.ara.adrianlim.eyeballmaze.models.Level;
+
+// Level construction and goal lookup benchmarks
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    @Param({"6x4", "64x64", "256x256", "1000x1000"})
+    public String size;
+
+    private BoardFixture board;
+    private Level level;
+    private int[] lookupRows;
+    private int[] lookupColumns;
+    private int lookup;
+
+    @Setup
+    public void setUp() {
+        board = new BoardFixture(size);
+        level = new Level("Benchmark", board.layout);
+
+        // Roughly one goal per hundred squares, and at least one
+        Random random = new Random(7);
+        int goals = Math.max(1, board.getHeight() * board.getWidth() / 100);
+        for (int i = 0; i < goals; i++) {
+            level.addGoal(random.nextInt(board.getHeight()), random.nextInt(board.getWidth()));
+        }
+
+        lookupRows = new int[LOOKUPS];
+        lookupColumns = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookupRows[i] = random.nextInt(board.getHeight());
+            lookupColumns[i] = random.nextInt(board.getWidth());
+        }
+    }
+
+    @Benchmark
+    public Level construct() {
+        return new Level("Benchmark", board.layout);
+    }
+
+    @Benchmark
+    public boolean hasGoalAt() {
+        lookup = (lookup + 1) & (LOOKUPS - 1);
+        return level.hasGoalAt(lookupRows[lookup], lookupColumns[lookup]);
+    }
+}
@@ -0,0 +1,8 @@
+package nz.ac.ara.adrianlim.eyeballmaze.interfaces;
+
+import nz.ac.ara.adrianlim.eyeballmaze.models.GameChanges;
+
+public interface IGameListener {
+	// Called once per move, undo, redo or level change, changes is reused by the game afterwards
+	void onGameChanged(GameChanges changes);
+}
@@ -0,0 +1,163 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+// Set of blank squares along one ordering of the cells, answering "is any square in this range
+// blank" in O(log n). Level 0 holds one bit per square. Each level above holds one bit per non-zero
+// word of the level below, so a range query checks the partial words at its two ends and passes
+// the full words in between up a level, and adding or removing a blank touches one word per level.
+// Level keeps one index in row-major order for row paths and one in column-major order for
+// column paths, so both kinds of path are a single contiguous range.
+final class BlankIndex {
+
+    private final long[][] levels;
+
+    BlankIndex(int size) {
+        int levelCount = 0;
+        for (int n = size; ; n = (n + 63) >>> 6) {
+            levelCount++;
+            if (n <= 64) {
+                break;
+            }
+        }
+        levels = new long[levelCount][];
+        int n = size;
+        for (int level = 0; level < levelCount; level++) {
+            levels[level] = new long[Math.max(1, (n + 63) >>> 6)];
+            n = (n + 63) >>> 6;
+        }
+    }
+
+    private BlankIndex(long[][] levels) {
+        this.levels = levels;
+    }
+
+    boolean contains(int index) {
+        return (levels[0][index >>> 6] & (1L << index)) != 0;
+    }
+
+    // Returns true if the square was not already blank
+    boolean add(int index) {
+        if (contains(index)) {
+            return false;
+        }
+        for (int level = 0; level < levels.length; level++) {
+            long[] words = levels[level];
+            boolean wasEmpty = words[index >>> 6] == 0;
+            words[index >>> 6] |= 1L << index;
+            if (!wasEmpty) {
+                break;
+            }
+            index >>>= 6;
+        }
+        return true;
+    }
+
+    // Returns true if the square was blank
+    boolean remove(int index) {
+        if (!contains(index)) {
+            return false;
+        }
+        for (int level = 0; level < levels.length; level++) {
+            long[] words = levels[level];
+            words[index >>> 6] &= ~(1L << index);
+            if (words[index >>> 6] != 0) {
+                break;
+            }
+            index >>>= 6;
+        }
+        return true;
+    }
+
+    // True if any square from from (inclusive) to to (exclusive) is blank
+    boolean anyInRange(int from, int to) {
+        for (int level = 0; level < levels.length && from < to; level++) {
+            long[] words = levels[level];
+            int firstWord = from >>> 6;
+            int lastWord = (to - 1) >>> 6;
+            long firstMask = -1L << from;
+            long lastMask = -1L >>> -to;
+            if (firstWord == lastWord) {
+                return (words[firstWord] & firstMask & lastMask) != 0;
+            }
+            if ((words[firstWord] & firstMask) != 0 || (words[lastWord] & lastMask) != 0) {
+                return true;
+            }
+            // The whole words in between are one bit each on the next level
+            from = firstWord + 1;
+            to = lastWord;
+        }
+        return false;
+    }
+
+    // First blank from from (inclusive) to to (exclusive), or -1
+    int next(int from, int to) {
+        return next(0, from, to);
+    }
+
+    // Last blank from from (inclusive) to to (exclusive), or -1
+    int previous(int from, int to) {
+        return previous(0, from, to);
+    }
+
+    private int next(int level, int from, int to) {
+        if (from >= to) {
+            return -1;
+        }
+        long[] words = levels[level];
+        int word = from >>> 6;
+        long bits = words[word] & (-1L << from);
+        if (bits == 0) {
+            // Find the next non-zero word through the level above
+            if (level + 1 == levels.length) {
+                return -1;
+            }
+            word = next(level + 1, word + 1, ((to - 1) >>> 6) + 1);
+            if (word < 0) {
+                return -1;
+            }
+            bits = words[word];
+        }
+        int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+        return index < to ? index : -1;
+    }
+
+    private int previous(int level, int from, int to) {
+        if (from >= to) {
+            return -1;
+        }
+        long[] words = levels[level];
+        int word = (to - 1) >>> 6;
+        long bits = words[word] & (-1L >>> -to);
+        if (bits == 0) {
+            if (level + 1 == levels.length) {
+                return -1;
+            }
+            word = previous(level + 1, from >>> 6, word);
+            if (word < 0) {
+                return -1;
+            }
+            bits = words[word];
+        }
+        int index = (word << 6) + 63 - Long.numberOfLeadingZeros(bits);
+        return index >= from ? index : -1;
+    }
+
+    // Level 0, one bit per square
+    long[] words() {
+        return levels[0];
+    }
+
+    BlankIndex copy() {
+        long[][] copy = new long[levels.length][];
+        for (int level = 0; level < levels.length; level++) {
+            copy[level] = levels[level].clone();
+        }
+        return new BlankIndex(copy);
+    }
+
+    // Makes this index equal to other, which must be the same size, without allocating
+    void copyFrom(BlankIndex other) {
+        for (int level = 0; level < levels.length; level++) {
+            System.arraycopy(other.levels[level], 0, levels[level], 0, levels[level].length);
+        }
+    }
+}
@@ -4,6 +4,10 @@ import nz.ac.ara.adrianlim.eyeballmaze.enums.Color;
 import nz.ac.ara.adrianlim.eyeballmaze.enums.Shape;
 
 public class BlankSquare extends Square {
+
+    // Shared instance used by the tile registry, a blank square has no state of its own
+    public static final BlankSquare INSTANCE = new BlankSquare();
+
     @Override
     public Color getColor() {
         return Color.BLANK;
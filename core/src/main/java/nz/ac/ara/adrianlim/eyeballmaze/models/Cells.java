@@ -0,0 +1,32 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+// Packing of board coordinates into cell ids. The model keys every square by cell = row * width + column,
+// held as a plain int so moves, goals and blanks are stored in primitive arrays and bitsets.
+// The row and column API on Game and the other public types unpacks cells with these at the boundary.
+public final class Cells {
+
+    private Cells() {
+    }
+
+    public static int pack(int row, int column, int width) {
+        return row * width + column;
+    }
+
+    public static int row(int cell, int width) {
+        return cell / width;
+    }
+
+    public static int column(int cell, int width) {
+        return cell % width;
+    }
+
+    // Index of a cell in column-major order (column * height + row), where each column is contiguous
+    public static int toColumnMajor(int cell, int height, int width) {
+        return column(cell, width) * height + row(cell, width);
+    }
+
+    // Cell of a column-major index, the inverse of toColumnMajor
+    public static int fromColumnMajor(int index, int height, int width) {
+        return pack(index % height, index / height, width);
+    }
+}
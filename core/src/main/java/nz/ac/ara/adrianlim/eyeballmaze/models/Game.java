@@ -0,0 +1,628 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Color;
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Message;
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Shape;
+import nz.ac.ara.adrianlim.eyeballmaze.interfaces.IGameListener;
+import nz.ac.ara.adrianlim.eyeballmaze.models.pack.LevelPack;
+
+public class Game {
+    // Levels added from a level pack are null here, they are decoded when setLevel selects them
+    private final List<Level> levels = new ArrayList<>();
+    private final List<LevelPack> levelPacks = new ArrayList<>();
+    private final List<Integer> levelPackStarts = new ArrayList<>();
+    private Level currentLevel;
+    private int currentLevelIndex = -1;
+    private Eyeball eyeball;
+
+    // Starting state of each level, compiled before its first move and used by restartLevel.
+    // Changing a level's squares, goals or eyeball drops its template and the undo history, so the
+    // next move or restart takes the changed level as the new start. The journal therefore always
+    // runs from the template's state, which is what GameSnapshot relies on.
+    private final List<LevelTemplate> templates = new ArrayList<>();
+
+    // created in portfolio.
+    // Every move made on the current level, for unlimited undo and redo
+    private final MoveJournal journal = new MoveJournal();
+
+    // Legal moves from the eyeball's square, kept up to date by moveTo and undoLastMove
+    private final LegalMoveIndex legalMoves = new LegalMoveIndex();
+
+    // Whether the remaining goals can still all be reached, cached per move
+    private final WinnabilityAnalysis winnability = new WinnabilityAnalysis();
+
+    // Listeners get one reused batch of changes per move, undo, redo or reset
+    // Copied on add and remove, so a listener can remove itself while a batch is being delivered
+    private IGameListener[] listeners = new IGameListener[0];
+    private final GameChanges changes = new GameChanges();
+
+    // Level methods
+    // Created in portoflio version, similar to addLevel but now using String level name & int 2d array for the params
+    public void addLevel(String levelName, int[][] levelLayout) {
+        dropPackTemplate();
+        currentLevel = new Level(levelName, levelLayout);
+        levels.add(currentLevel);
+        templates.add(null);
+        currentLevelIndex = levels.size() - 1;
+        journal.clear();
+        legalMoves.invalidate();
+        winnability.clear();
+        publishReset();
+    }
+
+    // Created for level packs
+    // Adds every level in the pack without reading them
+    public void addLevelPack(LevelPack pack) {
+        levelPacks.add(pack);
+        levelPackStarts.add(levels.size());
+        levels.addAll(Collections.<Level>nCopies(pack.getLevelCount(), null));
+        templates.addAll(Collections.<LevelTemplate>nCopies(pack.getLevelCount(), null));
+    }
+
+    public String getCurrentLevelName() {
+        return currentLevel.getLevelName();
+    }
+
+    public int getLevelHeight() {
+        isCurrentLevel();
+        return currentLevel.getHeight();
+    }
+
+    public int getLevelWidth() {
+        isCurrentLevel();
+        return currentLevel.getWidth();
+    }
+
+    // Copy of the current level as it stands, so it can be searched on another thread
+    public Level copyCurrentLevel() {
+        isCurrentLevel();
+        return currentLevel.copy();
+    }
+
+    public int getLevelCount() {
+        return levels.size();
+    }
+
+    // Index of the current level for setLevel, -1 before any level is added
+    public int getCurrentLevelIndex() {
+        return currentLevelIndex;
+    }
+
+    public void setLevel(int index) {
+        if (index < 0 || index >= levels.size()) {
+            throw new IllegalArgumentException("Invalid level index");
+        }
+        if (levels.get(index) != null) {
+            // Levels start fresh each time they are selected, as pack levels do
+            dropPackTemplate();
+            currentLevel = levels.get(index);
+            if (templates.get(index) != null) {
+                restoreTemplate(templates.get(index));
+            }
+        } else {
+            // Pack levels start fresh with the eyeball at the pack's start position each time they are selected.
+            // The entry is decoded and checked before anything changes, so a bad one leaves the game as it was.
+            int pack = levelPacks.size() - 1;
+            while (levelPackStarts.get(pack) > index) {
+                pack--;
+            }
+            LevelPack levelPack = levelPacks.get(pack);
+            int packIndex = index - levelPackStarts.get(pack);
+            Level level = levelPack.loadLevel(packIndex);
+            Eyeball start = new Eyeball(levelPack.getEyeballRow(packIndex), levelPack.getEyeballColumn(packIndex), levelPack.getEyeballDirection(packIndex));
+            checkEyeballPosition(level, start.getRow(), start.getColumn());
+            dropPackTemplate();
+            currentLevel = level;
+            eyeball = start;
+        }
+        currentLevelIndex = index;
+        journal.clear();
+        legalMoves.invalidate();
+        winnability.clear();
+        publishReset();
+    }
+    
+    // Eyeball methods
+    
+    public void addEyeball(int row, int column, Direction direction) {
+        isCurrentLevel();
+        checkEyeballPosition(row, column);
+        eyeball = new Eyeball(row, column, direction);
+        templates.set(currentLevelIndex, null);
+        journal.clear();
+        legalMoves.invalidate();
+        winnability.clear();
+        publishReset();
+    }
+
+    public int getEyeballRow() {
+        findEyeball();
+        return eyeball.getRow();
+    }
+
+    public int getEyeballColumn() {
+        findEyeball();
+        return eyeball.getColumn();
+    }
+
+    public Direction getEyeballDirection() {
+        findEyeball();
+        return eyeball.getDirection();
+    }
+
+    // Square methods
+    
+    public void addSquare(Square square, int row, int column) {
+        isCurrentLevel();
+        checkSquarePosition(row, column);
+        currentLevel.addSquare(square, row, column);
+        templates.set(currentLevelIndex, null);
+        journal.clear();
+        legalMoves.invalidate();
+        winnability.clear();
+        publishReset();
+    }
+
+    // Assessment 2 code
+    public Square getSquareAt(int row, int column) {
+        isCurrentLevel();
+        checkSquarePosition(row, column);
+        return currentLevel.getSquare(row, column);
+    }
+
+    public int getSquareAtIndex(int row, int column) {
+        isCurrentLevel();
+        checkSquarePosition(row, column);
+        return currentLevel.getSquareAt(row, column);
+    }
+
+    // Tile code in play at the square, 0 once it has been blanked, where getSquareAtIndex gives
+    // the code it was laid out with
+    public int getTileCodeAt(int row, int column) {
+        isCurrentLevel();
+        checkSquarePosition(row, column);
+        return currentLevel.getTileCodeAt(row, column);
+    }
+
+    public Color getColorAt(int row, int column) {
+        isCurrentLevel();
+        checkSquarePosition(row, column);
+        return currentLevel.getSquare(row, column).getColor();
+    }
+
+    public Shape getShapeAt(int row, int column) {
+        isCurrentLevel();
+        checkSquarePosition(row, column);
+        return currentLevel.getSquare(row, column).getShape();
+    }
+    
+    // Goal methods
+    
+    public void addGoal(int row, int column) {
+        isCurrentLevel();
+        checkSquarePosition(row, column);
+        currentLevel.addGoal(row, column);
+        templates.set(currentLevelIndex, null);
+        journal.clear();
+        winnability.clear();
+        publishReset();
+    }
+
+    public int getGoalCount() {
+        isCurrentLevel();
+        return currentLevel.getGoalCount();
+    }
+
+    public boolean hasGoalAt(int row, int column) {
+        isCurrentLevel();
+        checkSquarePosition(row, column);
+        return currentLevel.hasGoalAt(row, column);
+    }
+
+    public int getCompletedGoalCount() {
+        isCurrentLevel();
+        return currentLevel.getCompletedGoalCount();
+    }
+
+    // Goals can be iterated in row-major order with:
+    // for (int cell = findNextGoal(0); cell != -1; cell = findNextGoal(cell + 1))
+    // where each cell is packed as row * getLevelWidth() + column
+    public int findNextGoal(int fromCell) {
+        isCurrentLevel();
+        return currentLevel.findNextGoal(fromCell);
+    }
+    
+    // Direction/Movement methods
+    
+    public boolean isDirectionOK(int row, int column) {
+        isCurrentLevel();
+        checkSquarePosition(row, column);
+        return currentLevel.isDirectionOK(row, column, eyeball);
+    }
+
+    public Message checkDirectionMessage(int row, int column) {
+        isCurrentLevel();
+        checkSquarePosition(row, column);
+        return currentLevel.checkDirectionMessage(row, column, eyeball);
+    }
+
+    public boolean hasBlankFreePathTo(int row, int column) {
+        isCurrentLevel();
+        checkSquarePosition(row, column);
+        return currentLevel.hasBlankFreePathTo(row, column, eyeball);
+    }
+
+    public Message checkMessageForBlankOnPathTo(int row, int column) {
+        isCurrentLevel();
+        checkSquarePosition(row, column);
+        return currentLevel.checkMessageForBlankOnPathTo(row, column, eyeball);
+    }
+
+    public void moveTo(int row, int column) {
+
+        isCurrentLevel();
+        checkSquarePosition(row, column);
+        if (currentLevel.canMoveTo(row, column, eyeball, this)) {
+            compileTemplate();
+            // Created in portoflio version
+            // Record the move so it can be undone
+            long entry = currentLevel.moveTo(row, column, eyeball);
+            journal.record(entry);
+            legalMoves.refresh(currentLevel, eyeball);
+            winnability.moved(journal.getPosition(), MoveJournal.fromCell(entry));
+            publishMove(GameChanges.CAUSE_MOVE, entry);
+        } else {
+            throw new IllegalArgumentException("Invalid move");
+        }
+    }
+    
+    public boolean canMoveTo(int row, int column) {
+        isCurrentLevel();
+        checkSquarePosition(row, column);
+        return currentLevel.canMoveTo(row, column, eyeball, this);
+    }
+
+    public Message MessageIfMovingTo(int row, int column) {
+        isCurrentLevel();
+        checkSquarePosition(row, column);
+        return currentLevel.MessageIfMovingTo(row, column, eyeball, this);
+    }
+
+    // Zobrist hash of the current game state, for deduplicating states in searches and replays
+    public long getStateHash() {
+        isCurrentLevel();
+        findEyeball();
+        return currentLevel.getStateHash(eyeball);
+    }
+
+    // Hash of the current level's size and tile codes, which moves do not change. Together with
+    // getStateHash it identifies a position across levels, for caches shared between levels.
+    public long getLevelHash() {
+        isCurrentLevel();
+        return currentLevel.getLevelHash();
+    }
+
+    // Validation/Checker methods
+    
+    private void findEyeball() {
+        if (eyeball == null) {
+            throw new IllegalStateException("No eyeball added");
+        }
+    }
+
+    private void checkEyeballPosition(int row, int column) {
+        checkEyeballPosition(currentLevel, row, column);
+    }
+
+    private static void checkEyeballPosition(Level level, int row, int column) {
+        if (row < 0 || row >= level.getHeight() || column < 0 || column >= level.getWidth()) {
+            throw new IllegalArgumentException("Eyeball position is outside the level boundaries");
+        }
+    }
+
+    private void checkSquarePosition(int row, int column) {
+        if (row < 0 || row >= currentLevel.getHeight() || column < 0 || column >= currentLevel.getWidth()) {
+            throw new IllegalArgumentException("Square position is outside the level boundaries");
+        }
+    }
+
+    private void isCurrentLevel() {
+        if (currentLevel == null) {
+            throw new IllegalStateException("No levels added");
+        }
+    }
+
+
+    // Created in portoflio version
+    // checks for legal moves using the legal move index, which only covers the eyeball's row and column
+    public boolean hasLegalMoves() {
+        return getLegalMoveCount() > 0;
+    }
+
+    // False once it is proven that the remaining goals can no longer all be reached,
+    // which is often many moves before the eyeball runs out of legal moves
+    public boolean isWinnable() {
+        isCurrentLevel();
+        findEyeball();
+        return winnability.isWinnable(currentLevel, eyeball, journal.getPosition(), hasLegalMoves());
+    }
+
+    // Writes the target square of every legal move into out, packed as row * width + column, and
+    // returns how many there are. out must hold getLevelHeight() + getLevelWidth() moves, the most
+    // there can be from one square, so one buffer can be reused for every call on the level.
+    // The game is validated once and the cached list is copied, so nothing is allocated. This is
+    // Game's own API; IMoving is left as it was so other implementations of it still compile.
+    public int legalMoves(int[] out) {
+        updateLegalMoves();
+        if (out.length < currentLevel.getHeight() + currentLevel.getWidth()) {
+            throw new IllegalArgumentException("Move buffer is smaller than the level's height plus width");
+        }
+        return legalMoves.copyTo(out);
+    }
+
+    public int getLegalMoveCount() {
+        updateLegalMoves();
+        return legalMoves.size();
+    }
+
+    public int getLegalMoveRow(int index) {
+        updateLegalMoves();
+        return Cells.row(legalMoves.get(index), currentLevel.getWidth());
+    }
+
+    public int getLegalMoveColumn(int index) {
+        updateLegalMoves();
+        return Cells.column(legalMoves.get(index), currentLevel.getWidth());
+    }
+
+    private void updateLegalMoves() {
+        isCurrentLevel();
+        findEyeball();
+        if (!legalMoves.isValid()) {
+            legalMoves.refresh(currentLevel, eyeball);
+        }
+    }
+
+    public void undoLastMove() {
+        if (journal.canUndo()) {
+            // Revert the level's state and the eyeball to before the last move
+            long entry = journal.undo();
+            Direction turnedFrom = eyeball.getDirection();
+            currentLevel.revertMove(entry, eyeball);
+            legalMoves.refresh(currentLevel, eyeball);
+            publishUndo(entry, turnedFrom);
+        }
+    }
+
+    public void redoLastMove() {
+        if (journal.canRedo()) {
+            // Replaying an undone move from the same state gives the same journal entry back
+            int toCell = MoveJournal.toCell(journal.redo());
+            long entry = currentLevel.moveTo(Cells.row(toCell, currentLevel.getWidth()), Cells.column(toCell, currentLevel.getWidth()), eyeball);
+            legalMoves.refresh(currentLevel, eyeball);
+            publishMove(GameChanges.CAUSE_REDO, entry);
+        }
+    }
+
+    // Puts the current level and eyeball back as they were before the first move and clears the
+    // undo history. The state is copied from the level's template, so a restart allocates nothing.
+    public void restartLevel() {
+        isCurrentLevel();
+        findEyeball();
+        restoreTemplate(compileTemplate());
+        journal.clear();
+        legalMoves.invalidate();
+        winnability.clear();
+        publishReset();
+    }
+
+    private void restoreTemplate(LevelTemplate template) {
+        currentLevel.restore(template);
+        eyeball.setPosition(template.getEyeballRow(), template.getEyeballColumn());
+        eyeball.setDirection(template.getEyeballDirection());
+    }
+
+    // Returns the current level's template, taking it from the current state if there is none yet
+    private LevelTemplate compileTemplate() {
+        LevelTemplate template = templates.get(currentLevelIndex);
+        if (template == null) {
+            template = currentLevel.toTemplate(eyeball);
+            templates.set(currentLevelIndex, template);
+        }
+        return template;
+    }
+
+    // The current level's start without recording it as the template. Before the first move that
+    // is the current state, and from the first move on the template always exists.
+    LevelTemplate getStartTemplate() {
+        LevelTemplate template = templates.get(currentLevelIndex);
+        return template != null ? template : currentLevel.toTemplate(eyeball);
+    }
+
+    // Pack levels are decoded again each time they are selected, so the template of the one being left
+    // would never be used again. Only levels added with addLevel keep theirs.
+    private void dropPackTemplate() {
+        if (currentLevelIndex >= 0 && levels.get(currentLevelIndex) == null) {
+            templates.set(currentLevelIndex, null);
+        }
+    }
+
+    // Snapshot support, see GameSnapshot
+
+    MoveJournal getJournal() {
+        return journal;
+    }
+
+    // Makes level the current level at index with the eyeball at its start. An index past the last
+    // level adds it as a new level. Pack levels are not replaced, so selecting them again starts afresh.
+    void loadLevel(int index, Level level, int eyeballRow, int eyeballColumn, Direction eyeballDirection) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Invalid level index");
+        }
+        checkEyeballPosition(level, eyeballRow, eyeballColumn);
+        dropPackTemplate();
+        if (index >= levels.size()) {
+            levels.add(level);
+            templates.add(null);
+            index = levels.size() - 1;
+        } else if (levels.get(index) != null) {
+            levels.set(index, level);
+        }
+        currentLevel = level;
+        currentLevelIndex = index;
+        eyeball = new Eyeball(eyeballRow, eyeballColumn, eyeballDirection);
+        templates.set(index, null);
+        journal.clear();
+        legalMoves.invalidate();
+        winnability.clear();
+        publishReset();
+    }
+
+    // Plays the moves to toCells[0..count) from the current state, which must be the template's,
+    // then undoes back to position so the rest can be redone. Each move is checked as in moveTo;
+    // on a bad move the level is restarted and an IllegalArgumentException thrown. Listeners get a
+    // single reset rather than an event per move.
+    void replayMoves(int[] toCells, int count, int position) {
+        isCurrentLevel();
+        findEyeball();
+        if (position < 0 || position > count) {
+            throw new IllegalArgumentException("Invalid journal position");
+        }
+        int width = currentLevel.getWidth();
+        int cellCount = currentLevel.getHeight() * width;
+        journal.clear();
+        winnability.clear();
+        for (int i = 0; i < count; i++) {
+            int cell = toCells[i];
+            if (cell < 0 || cell >= cellCount || !currentLevel.canMoveTo(Cells.row(cell, width), Cells.column(cell, width), eyeball, this)) {
+                restartLevel();
+                throw new IllegalArgumentException("Invalid move " + i + " in snapshot");
+            }
+            compileTemplate();
+            long entry = currentLevel.moveTo(Cells.row(cell, width), Cells.column(cell, width), eyeball);
+            journal.record(entry);
+            winnability.moved(journal.getPosition(), MoveJournal.fromCell(entry));
+        }
+        while (journal.getPosition() > position) {
+            currentLevel.revertMove(journal.undo(), eyeball);
+        }
+        legalMoves.invalidate();
+        publishReset();
+    }
+
+    public boolean canUndo() {
+        return journal.canUndo();
+    }
+
+    public boolean canRedo() {
+        return journal.canRedo();
+    }
+
+    // Number of moves made on the current level, not counting undone moves
+    public int getMoveCount() {
+        return journal.getPosition();
+    }
+
+    // Moves made on the current level as MoveJournal entries, including undone moves that can still
+    // be redone. The first getMoveCount() of them are in effect.
+    public int getMoveHistorySize() {
+        return journal.getSize();
+    }
+
+    public long getMoveHistoryEntry(int index) {
+        return journal.getEntry(index);
+    }
+
+    // Hash of the state before the first move on the current level, which restartLevel goes back to
+    public long getStartStateHash() {
+        isCurrentLevel();
+        findEyeball();
+        return journal.getSize() == 0 ? currentLevel.getStateHash(eyeball) : getStartTemplate().getStateHash();
+    }
+
+    // Change listener methods
+
+    public void addGameListener(IGameListener listener) {
+        IGameListener[] added = Arrays.copyOf(listeners, listeners.length + 1);
+        added[listeners.length] = listener;
+        listeners = added;
+    }
+
+    public void removeGameListener(IGameListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                IGameListener[] removed = new IGameListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, removed, 0, i);
+                System.arraycopy(listeners, i + 1, removed, i, removed.length - i);
+                listeners = removed;
+                return;
+            }
+        }
+    }
+
+    private void publishMove(int cause, long entry) {
+        if (listeners.length == 0) {
+            return;
+        }
+        int fromCell = MoveJournal.fromCell(entry);
+        int toCell = MoveJournal.toCell(entry);
+        changes.begin(cause, currentLevel.getWidth(), fromCell);
+        changes.add(GameChanges.TILE_CHANGED, fromCell);
+        if (MoveJournal.goalRemoved(entry)) {
+            changes.add(GameChanges.GOAL_REMOVED, fromCell);
+        }
+        if (MoveJournal.goalCompleted(entry)) {
+            changes.add(GameChanges.GOAL_COMPLETED, toCell);
+        }
+        changes.add(GameChanges.EYEBALL_MOVED, toCell);
+        if (MoveJournal.previousDirection(entry) != eyeball.getDirection().ordinal()) {
+            changes.add(GameChanges.EYEBALL_TURNED, toCell);
+        }
+        publish();
+    }
+
+    private void publishUndo(long entry, Direction turnedFrom) {
+        if (listeners.length == 0) {
+            return;
+        }
+        int fromCell = MoveJournal.fromCell(entry);
+        int toCell = MoveJournal.toCell(entry);
+        changes.begin(GameChanges.CAUSE_UNDO, currentLevel.getWidth(), toCell);
+        changes.add(GameChanges.TILE_CHANGED, fromCell);
+        if (MoveJournal.goalRemoved(entry)) {
+            changes.add(GameChanges.GOAL_RESTORED, fromCell);
+        }
+        if (MoveJournal.goalCompleted(entry)) {
+            changes.add(GameChanges.GOAL_RESTORED, toCell);
+        }
+        changes.add(GameChanges.EYEBALL_MOVED, fromCell);
+        if (turnedFrom != eyeball.getDirection()) {
+            changes.add(GameChanges.EYEBALL_TURNED, fromCell);
+        }
+        publish();
+    }
+
+    private void publishReset() {
+        if (listeners.length == 0 || currentLevel == null) {
+            return;
+        }
+        int eyeballCell = eyeball == null ? -1 : Cells.pack(eyeball.getRow(), eyeball.getColumn(), currentLevel.getWidth());
+        changes.begin(GameChanges.CAUSE_RESET, currentLevel.getWidth(), eyeballCell);
+        publish();
+    }
+
+    // Walks the array as it was when the batch started, so listeners added or removed by a callback
+    // take effect from the next batch and delivering a batch allocates nothing
+    private void publish() {
+        IGameListener[] current = listeners;
+        for (IGameListener listener : current) {
+            listener.onGameChanged(changes);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+// Everything one move, undo, redo or level change did to a game, as a batch of packed events.
+// Each event is type << 27 | cell (cell = row * width + column). The game keeps one instance and
+// refills it for every batch, so listeners must read it during the callback and not keep it.
+public final class GameChanges {
+
+    // What caused the batch
+    public static final int CAUSE_MOVE = 0;
+    public static final int CAUSE_UNDO = 1;
+    public static final int CAUSE_REDO = 2;
+    // Level, eyeball, square or goal set up directly; listeners should redraw everything
+    public static final int CAUSE_RESET = 3;
+
+    // Event types
+    public static final int TILE_CHANGED = 0;
+    // The eyeball moved onto the goal, completing it
+    public static final int GOAL_COMPLETED = 1;
+    // The eyeball left the goal's square, which removes it without completing it
+    public static final int GOAL_REMOVED = 2;
+    // An undo put the goal back
+    public static final int GOAL_RESTORED = 3;
+    // The cell is the eyeball's new square, the old one is getPreviousEyeballCell()
+    public static final int EYEBALL_MOVED = 4;
+    public static final int EYEBALL_TURNED = 5;
+
+    private static final int CELL_BITS = 27;
+    private static final int CELL_MASK = (1 << CELL_BITS) - 1;
+
+    // A move gives at most six events
+    private final int[] events = new int[8];
+    private int size;
+    private int cause;
+    private int width;
+    private int previousEyeballCell;
+
+    void begin(int cause, int width, int previousEyeballCell) {
+        this.cause = cause;
+        this.width = width;
+        this.previousEyeballCell = previousEyeballCell;
+        size = 0;
+    }
+
+    void add(int type, int cell) {
+        events[size++] = type << CELL_BITS | cell;
+    }
+
+    public int getCause() {
+        return cause;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getType(int index) {
+        return events[checkIndex(index)] >>> CELL_BITS;
+    }
+
+    public int getCell(int index) {
+        return events[checkIndex(index)] & CELL_MASK;
+    }
+
+    public int getRow(int index) {
+        return Cells.row(getCell(index), width);
+    }
+
+    public int getColumn(int index) {
+        return Cells.column(getCell(index), width);
+    }
+
+    // Eyeball square before the batch, -1 if there was no eyeball
+    public int getPreviousEyeballCell() {
+        return previousEyeballCell;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid change index");
+        }
+        return index;
+    }
+}
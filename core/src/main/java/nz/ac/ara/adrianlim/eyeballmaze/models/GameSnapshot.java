@@ -0,0 +1,192 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+import nz.ac.ara.adrianlim.eyeballmaze.models.pack.LevelPackFormat;
+
+// Compact binary snapshot of a game in progress, for saved instance state and autosave files.
+// A snapshot holds the current level's starting state and the target cell of every move in the
+// journal. Restoring rebuilds the start and replays the moves, so undo, redo and restart all work
+// afterwards. Layout (all numbers big-endian):
+//
+//   magic            4 bytes  "EBGS"
+//   version          u16
+//   flags            u16      LEVEL_INCLUDED
+//   level index      u32
+//   start hash       u64      Zobrist hash of the starting state
+//   level hash       u64      Game.getLevelHash, the level's size and tiles
+//   elapsed millis   u64      play time, kept for the caller
+//   move count       u32      moves in the journal, undone moves included
+//   position         u32      moves currently applied
+//   moves            u32 per move, the target cell (row * width + column)
+// Only with LEVEL_INCLUDED:
+//   name length      u16, followed by the UTF-8 name
+//   height, width    u32 each
+//   eyeball row      u32
+//   eyeball column   u32
+//   eyeball dir      u8   Direction ordinal
+//   completed goals  u32
+//   tile encoding    u8   LevelPackFormat tile encoding
+//   tiles            LevelPackFormat.encodeTiles
+//   goal count       u32, followed by one u32 cell per goal
+//
+// Without the level a snapshot is a few bytes per move, which suits a Bundle. The level is then
+// found again by index and checked against the level and start hashes, so the game must hold the
+// same levels when it is restored. With the level the snapshot stands alone, which suits autosave files.
+public final class GameSnapshot {
+
+    public static final int LEVEL_INCLUDED = 1;
+
+    private static final int MAGIC = 0x45424753;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 44;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private GameSnapshot() {
+    }
+
+    // Snapshot of the game's current level. flags is 0 or LEVEL_INCLUDED.
+    public static byte[] write(Game game, long elapsedMillis, int flags) {
+        LevelTemplate start = game.getStartTemplate();
+        MoveJournal journal = game.getJournal();
+        int moveCount = journal.getSize();
+        boolean levelIncluded = (flags & LEVEL_INCLUDED) != 0;
+
+        byte[] name = null;
+        byte[] codes = null;
+        int encoding = 0;
+        int goalCount = 0;
+        int size = HEADER_SIZE + moveCount * 4;
+        if (levelIncluded) {
+            name = game.getCurrentLevelName().getBytes(StandardCharsets.UTF_8);
+            if (name.length > 0xFFFF) {
+                throw new IllegalArgumentException("Level name is too long");
+            }
+            codes = new byte[start.height * start.width];
+            for (int cell = 0; cell < codes.length; cell++) {
+                codes[cell] = (byte) start.getTileAt(cell);
+            }
+            encoding = LevelPackFormat.chooseTileEncoding(codes);
+            goalCount = start.goalCount;
+            size += 2 + name.length + 21 + 1 + LevelPackFormat.tileBytes(encoding, codes.length) + 4 + goalCount * 4;
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.putInt(MAGIC);
+        out.putShort((short) VERSION);
+        out.putShort((short) (levelIncluded ? LEVEL_INCLUDED : 0));
+        out.putInt(game.getCurrentLevelIndex());
+        out.putLong(start.getStateHash());
+        out.putLong(game.getLevelHash());
+        out.putLong(elapsedMillis);
+        out.putInt(moveCount);
+        out.putInt(journal.getPosition());
+        for (int i = 0; i < moveCount; i++) {
+            out.putInt(MoveJournal.toCell(journal.getEntry(i)));
+        }
+        if (levelIncluded) {
+            out.putShort((short) name.length);
+            out.put(name);
+            out.putInt(start.height);
+            out.putInt(start.width);
+            out.putInt(start.getEyeballRow());
+            out.putInt(start.getEyeballColumn());
+            out.put((byte) start.getEyeballDirection().ordinal());
+            out.putInt(start.completedGoalCount);
+            out.put((byte) encoding);
+            // Encoded straight into the backing array, which is much faster than a put per square
+            out.position(LevelPackFormat.encodeTiles(codes, encoding, out.array(), out.position()));
+            out.putInt(goalCount);
+            for (int cell = start.findNextGoal(0); cell >= 0; cell = start.findNextGoal(cell + 1)) {
+                out.putInt(cell);
+            }
+        }
+        return out.array();
+    }
+
+    // Restores a snapshot into game and returns its elapsed millis. A snapshot without its level
+    // selects the level by index and must match its starting state. Throws IllegalArgumentException
+    // for a damaged snapshot or one that does not fit the game.
+    public static long restore(Game game, byte[] snapshot) {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(snapshot);
+            if (in.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a game snapshot");
+            }
+            int version = in.getShort() & 0xFFFF;
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported game snapshot version " + version);
+            }
+            boolean levelIncluded = (in.getShort() & LEVEL_INCLUDED) != 0;
+            int levelIndex = in.getInt();
+            long startHash = in.getLong();
+            long levelHash = in.getLong();
+            long elapsedMillis = in.getLong();
+            int moveCount = in.getInt();
+            int position = in.getInt();
+            if (moveCount < 0 || moveCount > in.remaining() / 4) {
+                throw new IllegalArgumentException("Invalid move count in snapshot");
+            }
+            int[] moves = new int[moveCount];
+            for (int i = 0; i < moveCount; i++) {
+                moves[i] = in.getInt();
+            }
+
+            if (levelIncluded) {
+                readLevel(in, game, levelIndex);
+            } else if (levelIndex >= 0 && levelIndex < game.getLevelCount()) {
+                game.setLevel(levelIndex);
+            } else {
+                throw new IllegalArgumentException("Snapshot level " + levelIndex + " is not in the game");
+            }
+            if (game.getLevelHash() != levelHash || game.getStateHash() != startHash) {
+                throw new IllegalArgumentException("Snapshot does not match the level");
+            }
+            game.replayMoves(moves, moveCount, position);
+            return elapsedMillis;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Game snapshot is truncated", e);
+        }
+    }
+
+    private static void readLevel(ByteBuffer in, Game game, int levelIndex) {
+        byte[] name = new byte[in.getShort() & 0xFFFF];
+        in.get(name);
+        int height = in.getInt();
+        int width = in.getInt();
+        if (height <= 0 || width <= 0 || (long) height * width > MoveJournal.MAX_CELLS) {
+            throw new IllegalArgumentException("Invalid level size in snapshot");
+        }
+        int eyeballRow = in.getInt();
+        int eyeballColumn = in.getInt();
+        int direction = in.get();
+        if (direction < 0 || direction >= DIRECTIONS.length) {
+            throw new IllegalArgumentException("Invalid eyeball direction in snapshot");
+        }
+        int completedGoalCount = in.getInt();
+
+        int cellCount = height * width;
+        byte[] codes = new byte[cellCount];
+        int encoding = in.get();
+        in.position(LevelPackFormat.decodeTiles(in, in.position(), encoding, codes));
+
+        Level level = new Level(new String(name, StandardCharsets.UTF_8), height, width, codes);
+        int goalCount = in.getInt();
+        if (goalCount < 0 || goalCount > cellCount) {
+            throw new IllegalArgumentException("Invalid goal count in snapshot");
+        }
+        for (int i = 0; i < goalCount; i++) {
+            int cell = in.getInt();
+            if (cell < 0 || cell >= cellCount) {
+                throw new IllegalArgumentException("Goal position is outside the level boundaries");
+            }
+            level.addGoal(Cells.row(cell, width), Cells.column(cell, width));
+        }
+        level.setCompletedGoalCount(completedGoalCount);
+        game.loadLevel(levelIndex, level, eyeballRow, eyeballColumn, DIRECTIONS[direction]);
+    }
+}
@@ -0,0 +1,225 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+
+// Immutable value of a game position: squares, remaining goals and the eyeball. moveTo returns a
+// new state and leaves this one as it was. The squares are a PersistentCells vector, so a move
+// copies only the O(log n) nodes on the paths to the two squares it changes and shares the rest.
+// Searches can branch from a state, callers can keep old states for undo or replay, and a state can
+// be handed to another thread without locking or copying the level.
+//
+// The rules match Game: no diagonal or backwards moves, no moving over blanks, and the target must
+// share a colour or shape with the eyeball's square. Like Game's legal moves, staying on the
+// eyeball's own square is not a move.
+public final class GameState {
+
+    // Each cell holds its tile code, 0 once blanked, plus GOAL_BIT while a goal is there
+    private static final int GOAL_BIT = 0x40;
+    private static final int CODE_MASK = 0x3F;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final PersistentCells cells;
+    private final int height;
+    private final int width;
+    private final int eyeballCell;
+    private final Direction eyeballDirection;
+    private final int goalCount;
+    private final int completedGoalCount;
+    private final int moveCount;
+    // Zobrist hash of the blanked squares and remaining goals, as in Level
+    private final long boardHash;
+
+    private GameState(PersistentCells cells, int height, int width, int eyeballCell, Direction eyeballDirection,
+                      int goalCount, int completedGoalCount, int moveCount, long boardHash) {
+        this.cells = cells;
+        this.height = height;
+        this.width = width;
+        this.eyeballCell = eyeballCell;
+        this.eyeballDirection = eyeballDirection;
+        this.goalCount = goalCount;
+        this.completedGoalCount = completedGoalCount;
+        this.moveCount = moveCount;
+        this.boardHash = boardHash;
+    }
+
+    // State of the game's current level as it stands, in O(cells)
+    public static GameState of(Game game) {
+        int height = game.getLevelHeight();
+        int width = game.getLevelWidth();
+        byte[] codes = new byte[height * width];
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                codes[Cells.pack(row, col, width)] = (byte) game.getTileCodeAt(row, col);
+            }
+        }
+        for (int cell = game.findNextGoal(0); cell != -1; cell = game.findNextGoal(cell + 1)) {
+            codes[cell] |= GOAL_BIT;
+        }
+        int eyeballCell = Cells.pack(game.getEyeballRow(), game.getEyeballColumn(), width);
+        Direction direction = game.getEyeballDirection();
+        long boardHash = game.getStateHash() ^ Zobrist.eyeball(eyeballCell) ^ Zobrist.direction(direction.ordinal());
+        return new GameState(PersistentCells.of(codes), height, width, eyeballCell, direction,
+                game.getGoalCount(), game.getCompletedGoalCount(), game.getMoveCount(), boardHash);
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    // Tile code at the square, 0 once it has been blanked
+    public int getSquareAt(int row, int column) {
+        checkPosition(row, column);
+        return cells.get(Cells.pack(row, column, width)) & CODE_MASK;
+    }
+
+    public boolean hasGoalAt(int row, int column) {
+        checkPosition(row, column);
+        return (cells.get(Cells.pack(row, column, width)) & GOAL_BIT) != 0;
+    }
+
+    public int getGoalCount() {
+        return goalCount;
+    }
+
+    public int getCompletedGoalCount() {
+        return completedGoalCount;
+    }
+
+    // Moves made since the game the first state was taken from started
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    public int getEyeballRow() {
+        return Cells.row(eyeballCell, width);
+    }
+
+    public int getEyeballColumn() {
+        return Cells.column(eyeballCell, width);
+    }
+
+    public Direction getEyeballDirection() {
+        return eyeballDirection;
+    }
+
+    // Same hash as Game.getStateHash gives for this position
+    public long getStateHash() {
+        return boardHash ^ Zobrist.eyeball(eyeballCell) ^ Zobrist.direction(eyeballDirection.ordinal());
+    }
+
+    public boolean canMoveTo(int row, int column) {
+        checkPosition(row, column);
+        int eyeballRow = Cells.row(eyeballCell, width);
+        int eyeballColumn = Cells.column(eyeballCell, width);
+        if (row != eyeballRow && column != eyeballColumn) {
+            return false;
+        }
+        int target = Cells.pack(row, column, width);
+        if (target == eyeballCell) {
+            return false;
+        }
+        Direction direction = row == eyeballRow
+                ? (column > eyeballColumn ? Direction.RIGHT : Direction.LEFT)
+                : (row > eyeballRow ? Direction.DOWN : Direction.UP);
+        if (isBackwards(direction)) {
+            return false;
+        }
+        int step = stepOf(direction);
+        for (int cell = eyeballCell + step; cell != target; cell += step) {
+            if ((cells.get(cell) & CODE_MASK) == Tiles.BLANK) {
+                return false;
+            }
+        }
+        return Tiles.matches(cells.get(target) & CODE_MASK, cells.get(eyeballCell) & CODE_MASK);
+    }
+
+    // Writes every square the eyeball can move to into moves (packed as row * width + column) and
+    // returns how many there are
+    public int findLegalMoves(int[] moves) {
+        int currentTile = cells.get(eyeballCell) & CODE_MASK;
+        int eyeballRow = Cells.row(eyeballCell, width);
+        int eyeballColumn = Cells.column(eyeballCell, width);
+        int count = 0;
+        for (Direction direction : DIRECTIONS) {
+            if (isBackwards(direction)) {
+                continue;
+            }
+            int step = stepOf(direction);
+            int remaining = direction == Direction.UP ? eyeballRow
+                    : direction == Direction.DOWN ? height - 1 - eyeballRow
+                    : direction == Direction.LEFT ? eyeballColumn
+                    : width - 1 - eyeballColumn;
+            for (int cell = eyeballCell + step; remaining > 0; cell += step, remaining--) {
+                int code = cells.get(cell) & CODE_MASK;
+                if (Tiles.matches(code, currentTile)) {
+                    moves[count++] = cell;
+                }
+                if (code == Tiles.BLANK) {
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    // Returns the state after moving the eyeball to the square. This state is unchanged.
+    public GameState moveTo(int row, int column) {
+        if (!canMoveTo(row, column)) {
+            throw new IllegalArgumentException("Invalid move");
+        }
+        int target = Cells.pack(row, column, width);
+        int from = cells.get(eyeballCell);
+        int to = cells.get(target);
+
+        long hash = boardHash ^ Zobrist.blank(eyeballCell);
+        int goals = goalCount;
+        int completed = completedGoalCount;
+        // Leaving a goal removes it, reaching one completes it
+        if ((from & GOAL_BIT) != 0) {
+            hash ^= Zobrist.goal(eyeballCell);
+            goals--;
+        }
+        if ((to & GOAL_BIT) != 0) {
+            hash ^= Zobrist.goal(target);
+            goals--;
+            completed++;
+        }
+        PersistentCells next = cells.set(eyeballCell, Tiles.BLANK).set(target, to & CODE_MASK);
+
+        int rowDiff = row - Cells.row(eyeballCell, width);
+        int colDiff = column - Cells.column(eyeballCell, width);
+        Direction direction = Math.abs(rowDiff) > Math.abs(colDiff)
+                ? (rowDiff < 0 ? Direction.UP : Direction.DOWN)
+                : (colDiff < 0 ? Direction.LEFT : Direction.RIGHT);
+        return new GameState(next, height, width, target, direction, goals, completed, moveCount + 1, hash);
+    }
+
+    private int stepOf(Direction direction) {
+        switch (direction) {
+            case UP:
+                return -width;
+            case DOWN:
+                return width;
+            case LEFT:
+                return -1;
+            default:
+                return 1;
+        }
+    }
+
+    // Opposite directions differ only in the lowest ordinal bit
+    private boolean isBackwards(Direction direction) {
+        return direction.ordinal() == (eyeballDirection.ordinal() ^ 1);
+    }
+
+    private void checkPosition(int row, int column) {
+        if (row < 0 || row >= height || column < 0 || column >= width) {
+            throw new IllegalArgumentException("Square position is outside the level boundaries");
+        }
+    }
+}
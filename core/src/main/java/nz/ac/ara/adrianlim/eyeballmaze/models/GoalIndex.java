@@ -0,0 +1,80 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import java.util.Arrays;
+
+// Set of goal squares keyed by cell (row * width + column), one bit per square.
+// Lookups, adds and removes are constant time and never allocate, however many goals a level has.
+public class GoalIndex {
+
+    private final long[] bits;
+    private final int cellCount;
+    private int size;
+
+    public GoalIndex(int cellCount) {
+        this.cellCount = cellCount;
+        this.bits = new long[(cellCount + 63) >>> 6];
+    }
+
+    // Returns true if the goal was not already there
+    public boolean add(int cell) {
+        long mask = 1L << cell;
+        if ((bits[cell >>> 6] & mask) != 0) {
+            return false;
+        }
+        bits[cell >>> 6] |= mask;
+        size++;
+        return true;
+    }
+
+    // Returns true if there was a goal to remove
+    public boolean remove(int cell) {
+        long mask = 1L << cell;
+        if ((bits[cell >>> 6] & mask) == 0) {
+            return false;
+        }
+        bits[cell >>> 6] &= ~mask;
+        size--;
+        return true;
+    }
+
+    public boolean contains(int cell) {
+        return (bits[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Returns the first goal at or after fromCell in row-major order, or -1 when there are no more.
+    // Iterate with: for (int cell = next(0); cell != -1; cell = next(cell + 1))
+    public int next(int fromCell) {
+        if (fromCell >= cellCount) {
+            return -1;
+        }
+        int word = fromCell >>> 6;
+        long remaining = bits[word] & (-1L << fromCell);
+        while (remaining == 0) {
+            if (++word == bits.length) {
+                return -1;
+            }
+            remaining = bits[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(remaining);
+    }
+
+    // Copy of the goal bits, for LevelTemplate
+    long[] copyBits() {
+        return bits.clone();
+    }
+
+    // Replaces every goal with those in from, a copyBits result for the same cell count
+    void restore(long[] from, int goalCount) {
+        System.arraycopy(from, 0, bits, 0, bits.length);
+        size = goalCount;
+    }
+
+    public void clear() {
+        Arrays.fill(bits, 0);
+        size = 0;
+    }
+}
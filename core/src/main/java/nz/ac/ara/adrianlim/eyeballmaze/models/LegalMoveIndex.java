@@ -0,0 +1,47 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+// Keeps the list of legal moves from the eyeball's current square.
+// Game refreshes it after every move and undo, which only scans the eyeball's row and column.
+public class LegalMoveIndex {
+
+    private int[] moves = new int[0];
+    private int count;
+    private boolean valid;
+
+    public void refresh(Level level, Eyeball eyeball) {
+        // A row plus a column is the most moves there can be from one square
+        int capacity = level.getHeight() + level.getWidth();
+        if (moves.length < capacity) {
+            moves = new int[capacity];
+        }
+        count = level.findLegalMoves(eyeball, moves);
+        valid = true;
+    }
+
+    // Called when the level or eyeball changes in a way that needs a full refresh
+    public void invalidate() {
+        valid = false;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // Copies every move into out, which must hold size() moves, and returns how many there are
+    public int copyTo(int[] out) {
+        System.arraycopy(moves, 0, out, 0, count);
+        return count;
+    }
+
+    // Returns the target square of a legal move packed as row * width + column
+    public int get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Invalid legal move index");
+        }
+        return moves[index];
+    }
+}
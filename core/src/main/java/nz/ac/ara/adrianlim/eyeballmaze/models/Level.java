@@ -0,0 +1,504 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Color;
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Message;
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Shape;
+
+public class Level {
+
+	private final int height;
+    private final int width;
+
+    // Board state is packed per cell (index = row * width + column):
+    // tiles holds the tile code of every square. Blanks are indexed twice, by cell for row paths and
+    // by column * height + row for column paths, so checking a path for blanks is one range query.
+    // matches buckets the other squares by colour and shape in the same two orders for findLegalMoves.
+    private final byte[] tiles;
+    private final BlankIndex blanks;
+    private final BlankIndex columnBlanks;
+    private final MatchIndex matches;
+    private final GoalIndex goals;
+
+    private int completedGoalCount;
+
+    // Zobrist hash of the blanked squares and remaining goals, updated as they change
+    private long boardHash;
+    // Zobrist hash of the size and every square's tile code, which moves leave alone
+    private long tileHash;
+
+    private final String levelName;
+
+    // Row/column steps indexed by Direction ordinal (UP, DOWN, LEFT, RIGHT), so ordinal ^ 1 is the opposite direction
+    private static final int[] ROW_STEP = {-1, 1, 0, 0};
+    private static final int[] COLUMN_STEP = {0, 0, -1, 1};
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // Constructor 
+    // Created in portoflio version, extending the original Ass2 constructor
+    public Level(String levelName, int[][] levelLayout) {
+        this(levelName, levelLayout.length, levelLayout[0].length);
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                setInitialTile(Cells.pack(row, col, width), levelLayout[row][col]);
+            }
+        }
+    }
+
+    // Created for level packs, tileCodes holds one tile code per square row by row
+    public Level(String levelName, int height, int width, byte[] tileCodes) {
+        this(levelName, height, width);
+        if (tileCodes.length != height * width) {
+            throw new IllegalArgumentException("Tile codes do not match the level size");
+        }
+        for (int cell = 0; cell < tileCodes.length; cell++) {
+            setInitialTile(cell, tileCodes[cell]);
+        }
+    }
+
+    private Level(String levelName, int height, int width) {
+        if (height <= 0 || width <= 0 || (long) height * width > MoveJournal.MAX_CELLS) {
+            throw new IllegalArgumentException("Invalid level size");
+        }
+        this.height = height;
+        this.width = width;
+        this.levelName = levelName;
+
+        // Initialise the packed board
+        this.tiles = new byte[height * width];
+        this.blanks = new BlankIndex(height * width);
+        this.columnBlanks = new BlankIndex(height * width);
+        this.matches = new MatchIndex(height, width);
+        this.goals = new GoalIndex(height * width);
+        this.tileHash = Zobrist.size(height, width);
+    }
+
+    private void setInitialTile(int cell, int squareValue) {
+        if (!Tiles.isValid(squareValue)) {
+            squareValue = Tiles.BLANK;
+        }
+        tiles[cell] = (byte) squareValue;
+        tileHash ^= Zobrist.tile(cell, squareValue);
+        if (squareValue == Tiles.BLANK) {
+            blank(cell);
+        } else {
+            matches.add(cell, squareValue);
+        }
+    }
+
+    // Copy of the level as it stands now: blanked squares stay blank and only remaining goals are kept
+    public Level copy() {
+        byte[] codes = new byte[tiles.length];
+        copyTiles(codes);
+        Level copy = new Level(levelName, height, width, codes);
+        for (int cell = goals.next(0); cell >= 0; cell = goals.next(cell + 1)) {
+            copy.addGoal(cell);
+        }
+        copy.completedGoalCount = completedGoalCount;
+        return copy;
+    }
+
+    // Immutable copy of the level as it stands now, with the eyeball's square and direction
+    LevelTemplate toTemplate(Eyeball eyeball) {
+        return new LevelTemplate(height, width, tiles.clone(), blanks.copy(), columnBlanks.copy(), matches.copy(), goals.copyBits(), goals.size(),
+                completedGoalCount, boardHash, tileHash, eyeball);
+    }
+
+    // Puts the squares and goals back as they were in template with bulk array copies, without allocating
+    void restore(LevelTemplate template) {
+        if (template.height != height || template.width != width) {
+            throw new IllegalArgumentException("Template does not match the level size");
+        }
+        System.arraycopy(template.tiles, 0, tiles, 0, tiles.length);
+        blanks.copyFrom(template.blanks);
+        columnBlanks.copyFrom(template.columnBlanks);
+        matches.copyFrom(template.matches);
+        goals.restore(template.goals, template.goalCount);
+        completedGoalCount = template.completedGoalCount;
+        boardHash = template.boardHash;
+        tileHash = template.tileHash;
+    }
+
+    // For levels rebuilt from a snapshot that was taken after goals had been completed
+    void setCompletedGoalCount(int completedGoalCount) {
+        this.completedGoalCount = completedGoalCount;
+    }
+
+    public String getLevelName() {
+        return levelName;
+    }
+
+    // Square-related methods
+
+    // Returns the tile code the square was laid out with, which stays the same after the eyeball
+    // leaves and blanks it. Layout values outside the tile set load as blank and read back as 0.
+    public int getSquareAt(int row, int col) {
+        return tiles[Cells.pack(row, col, width)];
+    }
+
+    // Returns the tile code currently at the square, 0 once the square has been blanked
+    public int getTileCodeAt(int row, int col) {
+        return tileAt(Cells.pack(row, col, width));
+    }
+
+    public void addSquare(Square square, int row, int column) {
+        int cell = Cells.pack(row, column, width);
+        int code = Tiles.codeOf(square);
+        if (!blanks.contains(cell)) {
+            matches.remove(cell, tiles[cell]);
+        }
+        tileHash ^= Zobrist.tile(cell, tiles[cell]) ^ Zobrist.tile(cell, code);
+        tiles[cell] = (byte) code;
+        if (code == 0) {
+            blank(cell);
+        } else if (blanks.contains(cell)) {
+            unblank(cell);
+        } else {
+            matches.add(cell, code);
+        }
+    }
+
+    public Square getSquare(int row, int column) {
+        return Tiles.squareOf(tileAt(Cells.pack(row, column, width)));
+    }
+
+    public Color getColorAt(int row, int column) {
+        return Tiles.colorOf(tileAt(Cells.pack(row, column, width)));
+    }
+
+    public Shape getShapeAt(int row, int column) {
+        return Tiles.shapeOf(tileAt(Cells.pack(row, column, width)));
+    }
+
+    // Cell-based lookups for the analyses in this package
+    int tileAt(int cell) {
+        return blanks.contains(cell) ? 0 : tiles[cell];
+    }
+
+    // Copies the current tile code of every square into out, 0 for blanked squares
+    void copyTiles(byte[] out) {
+        System.arraycopy(tiles, 0, out, 0, tiles.length);
+        long[] blankWords = blanks.words();
+        for (int word = 0; word < blankWords.length; word++) {
+            for (long bits = blankWords[word]; bits != 0; bits &= bits - 1) {
+                out[(word << 6) + Long.numberOfTrailingZeros(bits)] = Tiles.BLANK;
+            }
+        }
+    }
+
+    BlankIndex blankIndex() {
+        return blanks;
+    }
+
+    BlankIndex columnBlankIndex() {
+        return columnBlanks;
+    }
+
+    MatchIndex matchIndex() {
+        return matches;
+    }
+
+    // Goal-related methods
+
+    public void addGoal(int row, int column) {
+        addGoal(Cells.pack(row, column, width));
+    }
+
+    public boolean hasGoalAt(int row, int column) {
+        return goals.contains(Cells.pack(row, column, width));
+    }
+
+    boolean hasGoal(int cell) {
+        return goals.contains(cell);
+    }
+
+    public int getGoalCount() {
+        return goals.size();
+    }
+
+    // Returns the next remaining goal at or after fromCell in row-major order (packed as row * width + column), or -1
+    public int findNextGoal(int fromCell) {
+        return goals.next(fromCell);
+    }
+
+    public int getCompletedGoalCount() {
+        return completedGoalCount;
+    }
+
+    // Direction/Movement methods
+
+    public boolean isDirectionOK(int row, int column, Eyeball eyeball) {
+        int currentRow = eyeball.getRow();
+        int currentColumn = eyeball.getColumn();
+        Direction currentDirection = eyeball.getDirection();
+
+        // Check for diagonal move
+        if (row != currentRow && column != currentColumn) {
+            return false;
+        }
+
+        // Check if moving backwards based on the current direction
+        switch (currentDirection) {
+            case UP:
+                return row <= currentRow;
+            case DOWN:
+                return row >= currentRow;
+            case LEFT:
+                return column <= currentColumn;
+            case RIGHT:
+                return column >= currentColumn;
+            default:
+                return false;
+        }
+    }
+
+    public boolean hasBlankFreePathTo(int row, int column, Eyeball eyeball) {
+        int currentRow = eyeball.getRow();
+        int currentColumn = eyeball.getColumn();
+
+        if (row == currentRow) {
+            // Moving horizontally, the squares between are a run of cells
+            int start = Math.min(currentColumn, column);
+            int end = Math.max(currentColumn, column);
+            return !blanks.anyInRange(Cells.pack(row, start, width) + 1, Cells.pack(row, end, width));
+        } else if (column == currentColumn) {
+            // Moving vertically, the squares between are a run in column-major order
+            int start = Math.min(currentRow, row);
+            int end = Math.max(currentRow, row);
+            return !columnBlanks.anyInRange(column * height + start + 1, column * height + end);
+        }
+
+        return true;
+    }
+
+    public Message checkDirectionMessage(int row, int column, Eyeball eyeball) {
+    	if (!isDirectionOK(row, column, eyeball)) {
+    		if (row != eyeball.getRow() && column != eyeball.getColumn()) {
+    			return Message.MOVING_DIAGONALLY;
+    		} else {
+    			return Message.BACKWARDS_MOVE;
+    		}
+    	}
+    	return Message.OK;
+    }
+
+    public Message checkMessageForBlankOnPathTo(int row, int column, Eyeball eyeball) {
+        if (!hasBlankFreePathTo(row, column, eyeball)) {
+            return Message.MOVING_OVER_BLANK;
+        }
+        return Message.OK;
+    }
+
+    public boolean canMoveTo(int row, int column, Eyeball eyeball, Game game) {
+        if (!isDirectionOK(row, column, eyeball) || !hasBlankFreePathTo(row, column, eyeball)) {
+            return false;
+        }
+
+        // Check if the target square has the same color or shape as the eyeball's current color or shape
+        return Tiles.matches(tileAt(Cells.pack(row, column, width)), tileAt(Cells.pack(eyeball.getRow(), eyeball.getColumn(), width)));
+
+    }
+
+    // Writes every square the eyeball can legally move to into moves (packed as row * width + column)
+    // and returns how many there are. In each allowed direction the nearest blank is found with the
+    // blank indexes, and the matching squares before it are read from the colour and shape buckets,
+    // so the cost follows the number of moves rather than the length of the row and column.
+    public int findLegalMoves(Eyeball eyeball, int[] moves) {
+        int currentRow = eyeball.getRow();
+        int currentColumn = eyeball.getColumn();
+        int currentCell = Cells.pack(currentRow, currentColumn, width);
+        int currentTile = tileAt(currentCell);
+        if (currentTile == Tiles.BLANK) {
+            return scanLegalMoves(eyeball, moves);
+        }
+        int backwards = eyeball.getDirection().ordinal() ^ 1;
+        int rowStart = currentRow * width;
+        int columnStart = currentColumn * height;
+        int columnIndex = columnStart + currentRow;
+
+        // Moves go in direction order, nearest first, as the eyeball would reach them
+        int count = 0;
+        if (backwards != Direction.UP.ordinal()) {
+            int blank = columnBlanks.previous(columnStart, columnIndex);
+            count = matches.findMatches(currentTile, true, blank < 0 ? columnStart : blank + 1, columnIndex, true, moves, count);
+        }
+        if (backwards != Direction.DOWN.ordinal()) {
+            int blank = columnBlanks.next(columnIndex + 1, columnStart + height);
+            count = matches.findMatches(currentTile, true, columnIndex + 1, blank < 0 ? columnStart + height : blank, false, moves, count);
+        }
+        if (backwards != Direction.LEFT.ordinal()) {
+            int blank = blanks.previous(rowStart, currentCell);
+            count = matches.findMatches(currentTile, false, blank < 0 ? rowStart : blank + 1, currentCell, true, moves, count);
+        }
+        if (backwards != Direction.RIGHT.ordinal()) {
+            int blank = blanks.next(currentCell + 1, rowStart + width);
+            count = matches.findMatches(currentTile, false, currentCell + 1, blank < 0 ? rowStart + width : blank, false, moves, count);
+        }
+        return count;
+    }
+
+    // Square by square walk for an eyeball left on a blank, where a neighbouring blank also matches
+    private int scanLegalMoves(Eyeball eyeball, int[] moves) {
+        int currentRow = eyeball.getRow();
+        int currentColumn = eyeball.getColumn();
+        int currentTile = tileAt(Cells.pack(currentRow, currentColumn, width));
+        int backwards = eyeball.getDirection().ordinal() ^ 1;
+
+        int count = 0;
+        for (int direction = 0; direction < ROW_STEP.length; direction++) {
+            if (direction == backwards) {
+                continue;
+            }
+            int row = currentRow + ROW_STEP[direction];
+            int col = currentColumn + COLUMN_STEP[direction];
+            while (row >= 0 && row < height && col >= 0 && col < width) {
+                int cell = Cells.pack(row, col, width);
+                if (Tiles.matches(tileAt(cell), currentTile)) {
+                    moves[count++] = cell;
+                }
+                if (blanks.contains(cell)) {
+                    break;
+                }
+                row += ROW_STEP[direction];
+                col += COLUMN_STEP[direction];
+            }
+        }
+        return count;
+    }
+
+    public Message MessageIfMovingTo(int row, int column, Eyeball eyeball, Game game) {
+        if (!isDirectionOK(row, column, eyeball)) {
+            return checkDirectionMessage(row, column, eyeball);
+        }
+
+        if (!hasBlankFreePathTo(row, column, eyeball)) {
+            return checkMessageForBlankOnPathTo(row, column, eyeball);
+        }
+
+        if (!canMoveTo(row, column, eyeball, game)) {
+            return Message.DIFFERENT_SHAPE_OR_COLOR;
+        }
+
+        return Message.OK;
+    }
+
+    // Returns a MoveJournal entry that revertMove can use to undo the move exactly
+    public long moveTo(int row, int column, Eyeball eyeball) {
+
+        int currentCell = Cells.pack(eyeball.getRow(), eyeball.getColumn(), width);
+        int targetCell = Cells.pack(row, column, width);
+        int replacedTile = tileAt(currentCell);
+
+    	// Blank the current square
+        blank(currentCell);
+
+        // If current position is a goal, remove it from the goals
+        boolean goalRemoved = removeGoal(currentCell);
+
+        // If the target position is a goal, remove it from goals and increment the completedGoalCount
+        boolean goalCompleted = removeGoal(targetCell);
+        if (goalCompleted) {
+            completedGoalCount++;
+        }
+
+        long entry = MoveJournal.pack(currentCell, targetCell, eyeball.getDirection().ordinal(), goalCompleted, goalRemoved, replacedTile);
+
+        // Calculate difference between the target row and the eyeball's current row
+        int rowDiff = row - eyeball.getRow();
+        int colDiff = column - eyeball.getColumn();
+
+        // Update eyeball's direction based on the move direction
+        eyeball.setDirection(Math.abs(rowDiff) > Math.abs(colDiff)
+        	    ? (rowDiff < 0 ? Direction.UP : Direction.DOWN) // Vertical
+        	    : (colDiff < 0 ? Direction.LEFT : Direction.RIGHT)); // Horizontal
+
+        // Update eyeball's position
+        eyeball.setPosition(row, column);
+        return entry;
+    }
+
+    // Getters
+    public int getHeight() {
+        return height;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+
+    // Created in portoflio version
+    // Undoes the move described by a MoveJournal entry returned from moveTo
+    public void revertMove(long entry, Eyeball eyeball) {
+        int fromCell = MoveJournal.fromCell(entry);
+        int toCell = MoveJournal.toCell(entry);
+
+        // Revert game logic that was affected by the move
+        // if a goal was reached during the move, put it back and undo the goal count
+        if (MoveJournal.goalCompleted(entry)) {
+            addGoal(toCell);
+            completedGoalCount--;
+        }
+        if (MoveJournal.goalRemoved(entry)) {
+            addGoal(fromCell);
+        }
+
+        // Restore the square the eyeball left
+        int replacedTile = MoveJournal.replacedTile(entry);
+        tiles[fromCell] = (byte) replacedTile;
+        if (replacedTile == 0) {
+            blank(fromCell);
+        } else {
+            unblank(fromCell);
+        }
+
+        // Reset the eyeball's previous position and direction
+        eyeball.setPosition(Cells.row(fromCell, width), Cells.column(fromCell, width));
+        eyeball.setDirection(DIRECTIONS[MoveJournal.previousDirection(entry)]);
+    }
+
+    // Hash of the level's size and tile codes. Two levels can share a state hash, since that only
+    // covers blanks, goals and the eyeball, so this tells positions on different levels apart.
+    public long getLevelHash() {
+        return tileHash;
+    }
+
+    // Zobrist hash of the full game state: blanked squares, remaining goals, eyeball square and direction
+    public long getStateHash(Eyeball eyeball) {
+        return boardHash
+                ^ Zobrist.eyeball(Cells.pack(eyeball.getRow(), eyeball.getColumn(), width))
+                ^ Zobrist.direction(eyeball.getDirection().ordinal());
+    }
+
+    // State changes go through these so the hash stays in step with the board
+    private void blank(int cell) {
+        if (blanks.add(cell)) {
+            columnBlanks.add(Cells.toColumnMajor(cell, height, width));
+            matches.remove(cell, tiles[cell]);
+            boardHash ^= Zobrist.blank(cell);
+        }
+    }
+
+    private void unblank(int cell) {
+        if (blanks.remove(cell)) {
+            columnBlanks.remove(Cells.toColumnMajor(cell, height, width));
+            matches.add(cell, tiles[cell]);
+            boardHash ^= Zobrist.blank(cell);
+        }
+    }
+
+    private void addGoal(int cell) {
+        if (goals.add(cell)) {
+            boardHash ^= Zobrist.goal(cell);
+        }
+    }
+
+    private boolean removeGoal(int cell) {
+        if (goals.remove(cell)) {
+            boardHash ^= Zobrist.goal(cell);
+            return true;
+        }
+        return false;
+    }
+}
\ No newline at end of file
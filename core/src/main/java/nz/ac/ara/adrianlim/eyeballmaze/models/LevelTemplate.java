@@ -0,0 +1,94 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+
+// Immutable starting state of a level: its squares, goals and eyeball before the first move.
+// Game compiles one for each level it plays and restarts a level by copying the template's arrays
+// back over the level's own with Level.restore, which takes O(cells) and allocates nothing.
+public final class LevelTemplate {
+
+    final int height;
+    final int width;
+    final byte[] tiles;
+    final BlankIndex blanks;
+    final BlankIndex columnBlanks;
+    final MatchIndex matches;
+    final long[] goals;
+    final int goalCount;
+    final int completedGoalCount;
+    final long boardHash;
+    final long tileHash;
+
+    private final int eyeballRow;
+    private final int eyeballColumn;
+    private final Direction eyeballDirection;
+
+    LevelTemplate(int height, int width, byte[] tiles, BlankIndex blanks, BlankIndex columnBlanks, MatchIndex matches, long[] goals, int goalCount,
+                  int completedGoalCount, long boardHash, long tileHash, Eyeball eyeball) {
+        this.height = height;
+        this.width = width;
+        this.tiles = tiles;
+        this.blanks = blanks;
+        this.columnBlanks = columnBlanks;
+        this.matches = matches;
+        this.goals = goals;
+        this.goalCount = goalCount;
+        this.completedGoalCount = completedGoalCount;
+        this.boardHash = boardHash;
+        this.tileHash = tileHash;
+        this.eyeballRow = eyeball.getRow();
+        this.eyeballColumn = eyeball.getColumn();
+        this.eyeballDirection = eyeball.getDirection();
+    }
+
+    // Zobrist hash of the starting state, as Game.getStateHash gives before the first move
+    public long getStateHash() {
+        return boardHash
+                ^ Zobrist.eyeball(Cells.pack(eyeballRow, eyeballColumn, width))
+                ^ Zobrist.direction(eyeballDirection.ordinal());
+    }
+
+    // Tile code of a square at the start, 0 for blanks
+    public int getTileAt(int cell) {
+        return blanks.contains(cell) ? Tiles.BLANK : tiles[cell];
+    }
+
+    // Next starting goal at or after fromCell in row-major order, or -1
+    public int findNextGoal(int fromCell) {
+        for (int word = fromCell >>> 6; word < goals.length && fromCell < height * width; word++) {
+            long remaining = goals[word] & (word == fromCell >>> 6 ? -1L << fromCell : -1L);
+            if (remaining != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(remaining);
+            }
+        }
+        return -1;
+    }
+
+    public int getCompletedGoalCount() {
+        return completedGoalCount;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getGoalCount() {
+        return goalCount;
+    }
+
+    public int getEyeballRow() {
+        return eyeballRow;
+    }
+
+    public int getEyeballColumn() {
+        return eyeballColumn;
+    }
+
+    public Direction getEyeballDirection() {
+        return eyeballDirection;
+    }
+}
@@ -0,0 +1,149 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Color;
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Shape;
+
+// Non-blank squares bucketed by colour and by shape, as one bitset per colour and per shape in
+// row-major order and again in column-major order (column * height + row). A run of a row or a
+// column is then a contiguous range of bits, and the squares in it that match a tile are the
+// range of its colour's bitset OR its shape's. findMatches reads that a word at a time, so listing
+// the moves along a run costs the number of matches plus one step per 64 squares.
+final class MatchIndex {
+
+    // Bucket of each tile code's colour and shape, -1 for blank
+    private static final int[] COLOR_BUCKETS = new int[Tiles.COUNT];
+    private static final int[] SHAPE_BUCKETS = new int[Tiles.COUNT];
+    private static final int BUCKET_COUNT = Color.values().length + Shape.values().length;
+
+    static {
+        for (int code = 0; code < Tiles.COUNT; code++) {
+            Color color = Tiles.colorOf(code);
+            Shape shape = Tiles.shapeOf(code);
+            COLOR_BUCKETS[code] = color == Color.BLANK ? -1 : color.ordinal();
+            SHAPE_BUCKETS[code] = shape == Shape.BLANK ? -1 : Color.values().length + shape.ordinal();
+        }
+    }
+
+    private final int height;
+    private final int width;
+    // [bucket][word]
+    private final long[][] rows;
+    private final long[][] columns;
+
+    MatchIndex(int height, int width) {
+        this.height = height;
+        this.width = width;
+        int words = (height * width + 63) >>> 6;
+        this.rows = new long[BUCKET_COUNT][words];
+        this.columns = new long[BUCKET_COUNT][words];
+    }
+
+    private MatchIndex(int height, int width, long[][] rows, long[][] columns) {
+        this.height = height;
+        this.width = width;
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    void add(int cell, int code) {
+        set(cell, code, true);
+    }
+
+    void remove(int cell, int code) {
+        set(cell, code, false);
+    }
+
+    private void set(int cell, int code, boolean present) {
+        int columnIndex = Cells.toColumnMajor(cell, height, width);
+        set(COLOR_BUCKETS[code], cell, columnIndex, present);
+        set(SHAPE_BUCKETS[code], cell, columnIndex, present);
+    }
+
+    private void set(int bucket, int cell, int columnIndex, boolean present) {
+        if (bucket < 0) {
+            return;
+        }
+        if (present) {
+            rows[bucket][cell >>> 6] |= 1L << cell;
+            columns[bucket][columnIndex >>> 6] |= 1L << columnIndex;
+        } else {
+            rows[bucket][cell >>> 6] &= ~(1L << cell);
+            columns[bucket][columnIndex >>> 6] &= ~(1L << columnIndex);
+        }
+    }
+
+    // Writes the cells matching code from from (inclusive) to to (exclusive) into moves from count,
+    // nearest to start first, and returns the new count. The range is in row-major order, or in
+    // column-major order when inColumn is set. descending lists from to - 1 down to from.
+    int findMatches(int code, boolean inColumn, int from, int to, boolean descending, int[] moves, int count) {
+        if (from >= to || COLOR_BUCKETS[code] < 0) {
+            return count;
+        }
+        long[][] buckets = inColumn ? columns : rows;
+        long[] colors = buckets[COLOR_BUCKETS[code]];
+        long[] shapes = buckets[SHAPE_BUCKETS[code]];
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (descending) {
+            for (int word = lastWord; word >= firstWord; word--) {
+                long bits = (colors[word] | shapes[word]) & (word == lastWord ? lastMask : -1L) & (word == firstWord ? firstMask : -1L);
+                while (bits != 0) {
+                    int bit = 63 - Long.numberOfLeadingZeros(bits);
+                    moves[count++] = toCell(inColumn, (word << 6) + bit);
+                    bits &= ~(1L << bit);
+                }
+            }
+        } else {
+            for (int word = firstWord; word <= lastWord; word++) {
+                long bits = (colors[word] | shapes[word]) & (word == lastWord ? lastMask : -1L) & (word == firstWord ? firstMask : -1L);
+                while (bits != 0) {
+                    moves[count++] = toCell(inColumn, (word << 6) + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+        }
+        return count;
+    }
+
+    // Buckets and bitsets for WinnabilityAnalysis, which scans a run for a colour and a shape apart
+
+    static int colorBucket(int code) {
+        return COLOR_BUCKETS[code];
+    }
+
+    static int shapeBucket(int code) {
+        return SHAPE_BUCKETS[code];
+    }
+
+    long[] rowBits(int bucket) {
+        return rows[bucket];
+    }
+
+    long[] columnBits(int bucket) {
+        return columns[bucket];
+    }
+
+    private int toCell(boolean inColumn, int index) {
+        return inColumn ? Cells.fromColumnMajor(index, height, width) : index;
+    }
+
+    MatchIndex copy() {
+        long[][] rowCopy = new long[BUCKET_COUNT][];
+        long[][] columnCopy = new long[BUCKET_COUNT][];
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            rowCopy[bucket] = rows[bucket].clone();
+            columnCopy[bucket] = columns[bucket].clone();
+        }
+        return new MatchIndex(height, width, rowCopy, columnCopy);
+    }
+
+    // Makes this index equal to other, which must be for the same size of level, without allocating
+    void copyFrom(MatchIndex other) {
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            System.arraycopy(other.rows[bucket], 0, rows[bucket], 0, rows[bucket].length);
+            System.arraycopy(other.columns[bucket], 0, columns[bucket], 0, columns[bucket].length);
+        }
+    }
+}
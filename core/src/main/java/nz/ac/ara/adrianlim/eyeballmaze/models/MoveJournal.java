@@ -0,0 +1,114 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import java.util.Arrays;
+
+// Records every move made on a level so it can be undone and redone any number of times.
+// Each move is one packed long, laid out from the lowest bit:
+// from cell (27 bits) | to cell (27 bits) | previous direction (2) | goal completed (1) | goal removed (1) | replaced tile (6)
+public class MoveJournal {
+
+    private static final int CELL_BITS = 27;
+    private static final long CELL_MASK = (1L << CELL_BITS) - 1;
+    private static final int TO_SHIFT = CELL_BITS;
+    private static final int DIRECTION_SHIFT = CELL_BITS * 2;
+    private static final int GOAL_COMPLETED_SHIFT = DIRECTION_SHIFT + 2;
+    private static final int GOAL_REMOVED_SHIFT = GOAL_COMPLETED_SHIFT + 1;
+    private static final int TILE_SHIFT = GOAL_REMOVED_SHIFT + 1;
+
+    // Largest number of squares a level can have for its cells to fit in an entry
+    public static final int MAX_CELLS = 1 << CELL_BITS;
+
+    private long[] entries = new long[16];
+    // Entries below position have been applied, entries from position to size can be redone
+    private int position;
+    private int size;
+
+    public static long pack(int fromCell, int toCell, int previousDirection, boolean goalCompleted, boolean goalRemoved, int replacedTile) {
+        return (fromCell & CELL_MASK)
+                | (toCell & CELL_MASK) << TO_SHIFT
+                | (long) (previousDirection & 3) << DIRECTION_SHIFT
+                | (goalCompleted ? 1L : 0L) << GOAL_COMPLETED_SHIFT
+                | (goalRemoved ? 1L : 0L) << GOAL_REMOVED_SHIFT
+                | (long) (replacedTile & 63) << TILE_SHIFT;
+    }
+
+    public static int fromCell(long entry) {
+        return (int) (entry & CELL_MASK);
+    }
+
+    public static int toCell(long entry) {
+        return (int) ((entry >>> TO_SHIFT) & CELL_MASK);
+    }
+
+    public static int previousDirection(long entry) {
+        return (int) ((entry >>> DIRECTION_SHIFT) & 3);
+    }
+
+    // True when the move reached a goal and increased the completed goal count
+    public static boolean goalCompleted(long entry) {
+        return ((entry >>> GOAL_COMPLETED_SHIFT) & 1) != 0;
+    }
+
+    // True when the eyeball left a goal square, which removes the goal without completing it
+    public static boolean goalRemoved(long entry) {
+        return ((entry >>> GOAL_REMOVED_SHIFT) & 1) != 0;
+    }
+
+    public static int replacedTile(long entry) {
+        return (int) ((entry >>> TILE_SHIFT) & 63);
+    }
+
+    // Adds a move made by the player, which throws away any moves that could have been redone
+    public void record(long entry) {
+        if (position == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        entries[position++] = entry;
+        size = position;
+    }
+
+    public boolean canUndo() {
+        return position > 0;
+    }
+
+    public boolean canRedo() {
+        return position < size;
+    }
+
+    // Returns the move to revert and steps back over it
+    public long undo() {
+        if (!canUndo()) {
+            throw new IllegalStateException("No moves to undo");
+        }
+        return entries[--position];
+    }
+
+    // Returns the move to apply again and steps forward over it
+    public long redo() {
+        if (!canRedo()) {
+            throw new IllegalStateException("No moves to redo");
+        }
+        return entries[position++];
+    }
+
+    // Number of moves currently applied
+    public int getPosition() {
+        return position;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getEntry(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid journal index");
+        }
+        return entries[index];
+    }
+
+    public void clear() {
+        position = 0;
+        size = 0;
+    }
+}
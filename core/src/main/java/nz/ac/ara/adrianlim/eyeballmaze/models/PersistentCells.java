@@ -0,0 +1,84 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+// Persistent vector of one byte per cell for GameState. Cells are held in 64-byte leaves under a
+// 32-way trie. set returns a new vector that shares every node off the changed path, so an update
+// copies O(log n) small arrays and old vectors stay valid. Nodes are never written after they are
+// built, so a vector can be read from any thread.
+final class PersistentCells {
+
+    private static final int LEAF_BITS = 6;
+    private static final int LEAF_SIZE = 1 << LEAF_BITS;
+    private static final int LEAF_MASK = LEAF_SIZE - 1;
+    private static final int BRANCH_BITS = 5;
+    private static final int BRANCH_SIZE = 1 << BRANCH_BITS;
+    private static final int BRANCH_MASK = BRANCH_SIZE - 1;
+
+    private final int size;
+    // Index shift at the root, below LEAF_BITS when the root is a leaf
+    private final int shift;
+    // byte[] leaf or Object[] branch
+    private final Object root;
+
+    private PersistentCells(int size, int shift, Object root) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+    }
+
+    static PersistentCells of(byte[] cells) {
+        Object[] nodes = new Object[Math.max(1, (cells.length + LEAF_MASK) >>> LEAF_BITS)];
+        for (int i = 0; i < nodes.length; i++) {
+            byte[] leaf = new byte[LEAF_SIZE];
+            System.arraycopy(cells, i << LEAF_BITS, leaf, 0, Math.min(LEAF_SIZE, cells.length - (i << LEAF_BITS)));
+            nodes[i] = leaf;
+        }
+        int shift = 0;
+        while (nodes.length > 1) {
+            Object[] parents = new Object[(nodes.length + BRANCH_MASK) >>> BRANCH_BITS];
+            for (int i = 0; i < parents.length; i++) {
+                Object[] branch = new Object[Math.min(BRANCH_SIZE, nodes.length - (i << BRANCH_BITS))];
+                System.arraycopy(nodes, i << BRANCH_BITS, branch, 0, branch.length);
+                parents[i] = branch;
+            }
+            nodes = parents;
+            shift = shift == 0 ? LEAF_BITS : shift + BRANCH_BITS;
+        }
+        return new PersistentCells(cells.length, shift, nodes[0]);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return leafOf(index)[index & LEAF_MASK];
+    }
+
+    // Leaf holding index, for checking which nodes set shares
+    byte[] leafOf(int index) {
+        Object node = root;
+        for (int s = shift; s >= LEAF_BITS; s -= BRANCH_BITS) {
+            node = ((Object[]) node)[(index >>> s) & BRANCH_MASK];
+        }
+        return (byte[]) node;
+    }
+
+    PersistentCells set(int index, int value) {
+        if (get(index) == (byte) value) {
+            return this;
+        }
+        return new PersistentCells(size, shift, set(root, shift, index, (byte) value));
+    }
+
+    private static Object set(Object node, int shift, int index, byte value) {
+        if (shift < LEAF_BITS) {
+            byte[] leaf = ((byte[]) node).clone();
+            leaf[index & LEAF_MASK] = value;
+            return leaf;
+        }
+        Object[] branch = ((Object[]) node).clone();
+        int child = (index >>> shift) & BRANCH_MASK;
+        branch[child] = set(branch[child], shift - BRANCH_BITS, index, value);
+        return branch;
+    }
+}
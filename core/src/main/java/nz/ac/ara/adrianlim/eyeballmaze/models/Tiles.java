@@ -0,0 +1,111 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import java.util.Arrays;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Color;
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Shape;
+
+// Registry of every tile type, indexed by tile code.
+// Code 0 is blank and codes 1-16 are the original tile set (crosses, diamonds, flowers, stars in
+// blue, green, red, yellow), matching the values used in level layouts. Each code has one shared,
+// immutable square, so nothing is allocated when a level is built or drawn.
+//
+// Codes 17-25 are set aside for the purple and lightning tiles. Layouts have always loaded those
+// values as blank and the board has no artwork for them, so they stay out of play: isValid and
+// codeOf reject them until COUNT is raised along with their drawables.
+public final class Tiles {
+
+    public static final int BLANK = 0;
+
+    // Number of tile codes in play, including blank
+    public static final int COUNT;
+
+    // Number of registered tile codes, including those set aside
+    static final int REGISTERED_COUNT;
+
+    private static final Color[] COLORS;
+    private static final Shape[] SHAPES;
+    private static final Square[] SQUARES;
+    // Tile code for each color/shape pair, indexed [color ordinal][shape ordinal], -1 if there is none
+    private static final int[][] CODES = new int[Color.values().length][Shape.values().length];
+
+    // Colors and shapes in tile code order
+    private static final Color[] ORIGINAL_COLORS = {Color.BLUE, Color.GREEN, Color.RED, Color.YELLOW};
+    private static final Shape[] ORIGINAL_SHAPES = {Shape.CROSS, Shape.DIAMOND, Shape.FLOWER, Shape.STAR};
+
+    static {
+        int originalCount = ORIGINAL_COLORS.length * ORIGINAL_SHAPES.length;
+        int purpleCount = ORIGINAL_SHAPES.length;
+        int lightningCount = ORIGINAL_COLORS.length + 1;
+        COUNT = 1 + originalCount;
+        REGISTERED_COUNT = 1 + originalCount + purpleCount + lightningCount;
+
+        COLORS = new Color[REGISTERED_COUNT];
+        SHAPES = new Shape[REGISTERED_COUNT];
+        SQUARES = new Square[REGISTERED_COUNT];
+        for (int[] codes : CODES) {
+            Arrays.fill(codes, -1);
+        }
+
+        register(BLANK, Color.BLANK, Shape.BLANK);
+        int code = 1;
+        for (Shape shape : ORIGINAL_SHAPES) {
+            for (Color color : ORIGINAL_COLORS) {
+                register(code++, color, shape);
+            }
+        }
+        for (Shape shape : ORIGINAL_SHAPES) {
+            register(code++, Color.PURPLE, shape);
+        }
+        for (Color color : ORIGINAL_COLORS) {
+            register(code++, color, Shape.LIGHTNING);
+        }
+        register(code, Color.PURPLE, Shape.LIGHTNING);
+    }
+
+    private Tiles() {
+    }
+
+    private static void register(int code, Color color, Shape shape) {
+        COLORS[code] = color;
+        SHAPES[code] = shape;
+        SQUARES[code] = code == BLANK ? BlankSquare.INSTANCE : new PlayableSquare(color, shape);
+        CODES[color.ordinal()][shape.ordinal()] = code;
+    }
+
+    public static boolean isValid(int code) {
+        return code >= 0 && code < COUNT;
+    }
+
+    public static Color colorOf(int code) {
+        return COLORS[code];
+    }
+
+    public static Shape shapeOf(int code) {
+        return SHAPES[code];
+    }
+
+    public static Square squareOf(int code) {
+        return SQUARES[code];
+    }
+
+    // Two tiles can be moved between when they share a color or a shape
+    public static boolean matches(int code, int otherCode) {
+        return COLORS[code] == COLORS[otherCode] || SHAPES[code] == SHAPES[otherCode];
+    }
+
+    public static int codeOf(Color color, Shape shape) {
+        int code = CODES[color.ordinal()][shape.ordinal()];
+        if (code < 0 || code >= COUNT) {
+            throw new IllegalArgumentException("Unsupported square");
+        }
+        return code;
+    }
+
+    public static int codeOf(Square square) {
+        if (square.getColor() == null || square.getShape() == null) {
+            throw new IllegalArgumentException("Unsupported square");
+        }
+        return codeOf(square.getColor(), square.getShape());
+    }
+}
@@ -0,0 +1,111 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import java.util.Arrays;
+
+// Fixed-size hash table from Zobrist state hashes to an int value (for example a distance to the
+// goal or a best move) and the search depth it was found at. Entries live in primitive arrays in
+// buckets of two: the first slot keeps the deepest entry seen, the second is always replaced.
+// Nothing is allocated after construction.
+public class TranspositionTable {
+
+    public static final int NOT_FOUND = Integer.MIN_VALUE;
+
+    private static final int EMPTY = -1;
+
+    private final long[] hashes;
+    private final int[] values;
+    private final int[] depths;
+    private final int bucketMask;
+
+    private int size;
+
+    // Capacity is rounded up to a power of two entries
+    public TranspositionTable(int capacity) {
+        if (capacity < 2 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid transposition table capacity");
+        }
+        int slots = Integer.highestOneBit(capacity - 1) << 1;
+        this.hashes = new long[slots];
+        this.values = new int[slots];
+        this.depths = new int[slots];
+        this.bucketMask = slots / 2 - 1;
+        Arrays.fill(depths, EMPTY);
+    }
+
+    // depth must not be negative
+    public void put(long hash, int value, int depth) {
+        int slot = bucket(hash);
+
+        // Update in place if the state is already stored
+        for (int i = slot; i < slot + 2; i++) {
+            if (depths[i] != EMPTY && hashes[i] == hash) {
+                store(i, hash, value, depth);
+                return;
+            }
+        }
+
+        if (depths[slot] == EMPTY || depth >= depths[slot]) {
+            // Move the old preferred entry down rather than losing it straight away
+            if (depths[slot] != EMPTY) {
+                store(slot + 1, hashes[slot], values[slot], depths[slot]);
+            }
+            store(slot, hash, value, depth);
+        } else {
+            store(slot + 1, hash, value, depth);
+        }
+    }
+
+    // Returns the stored value, or NOT_FOUND
+    public int get(long hash) {
+        int slot = find(hash);
+        return slot == -1 ? NOT_FOUND : values[slot];
+    }
+
+    // Returns the depth the stored value was found at, or -1
+    public int getDepth(long hash) {
+        int slot = find(hash);
+        return slot == -1 ? EMPTY : depths[slot];
+    }
+
+    public boolean contains(long hash) {
+        return find(hash) != -1;
+    }
+
+    // Number of occupied slots
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return hashes.length;
+    }
+
+    public void clear() {
+        Arrays.fill(depths, EMPTY);
+        size = 0;
+    }
+
+    private int find(long hash) {
+        int slot = bucket(hash);
+        if (depths[slot] != EMPTY && hashes[slot] == hash) {
+            return slot;
+        }
+        if (depths[slot + 1] != EMPTY && hashes[slot + 1] == hash) {
+            return slot + 1;
+        }
+        return -1;
+    }
+
+    private void store(int slot, long hash, int value, int depth) {
+        if (depths[slot] == EMPTY) {
+            size++;
+        }
+        hashes[slot] = hash;
+        values[slot] = value;
+        depths[slot] = depth;
+    }
+
+    private int bucket(long hash) {
+        return (int) ((hash ^ (hash >>> 32)) & bucketMask) << 1;
+    }
+}
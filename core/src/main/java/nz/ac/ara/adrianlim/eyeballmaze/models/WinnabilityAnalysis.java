@@ -0,0 +1,266 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import java.util.Arrays;
+
+// Proves when a level can no longer be won. It searches a relaxed version of the game where
+// facing is ignored and squares stay put after the eyeball leaves them. Any real move is also a
+// relaxed move, and blanks only ever grow, so if a remaining goal is unreachable in the relaxed
+// game it is unreachable for good. The check can report a lost game late, but never early.
+//
+// Results are kept per move journal position. Undo and redo reuse them, and a game that is lost
+// stays lost after further moves, so only moves from a winnable position need a new search.
+//
+// Relaxed moves go both ways, so the squares the eyeball can reach form one component, which is
+// kept from the last search. A move from A blanks A, and the only relaxed moves this takes away are
+// those to A and those passing over it, all of which end in the runs of A's row and column. If the
+// search from the new square reaches every kept square in those runs, every other kept square is
+// still connected through them, so the component is the old one less A and the search stops there.
+public class WinnabilityAnalysis {
+
+    private static final byte UNKNOWN = 0;
+    private static final byte WINNABLE = 1;
+    private static final byte LOST = 2;
+
+    // Verdict for each journal position, and the square the move to each position left
+    private byte[] verdicts = new byte[16];
+    private int[] movedFrom = new int[16];
+
+    // Component of the eyeball at keptPosition, one bit per square in row-major order
+    private long[] kept = new long[0];
+    private int keptPosition = -1;
+
+    // Search state. Reached squares are set in row-major and in column-major order. A row or column
+    // scan for a colour or shape reaches every matching square between the nearest blanks at once,
+    // so the squares it covers are marked and do not repeat it.
+    private long[] reached = new long[0];
+    private long[] reachedColumns = new long[0];
+    private long[] rowColors = new long[0];
+    private long[] rowShapes = new long[0];
+    private long[] columnColors = new long[0];
+    private long[] columnShapes = new long[0];
+    private int[] queue = new int[0];
+    private int goalsLeft;
+
+    // Kept squares in the runs around the square moved from still to be reached, -1 for a full search.
+    // The row runs are a row-major range and the column runs a column-major one, both including it.
+    private int targetsLeft;
+    private int targetRowStart;
+    private int targetRowEnd;
+    private int targetColumnStart;
+    private int targetColumnEnd;
+
+    public boolean isWinnable(Level level, Eyeball eyeball, int position, boolean hasLegalMoves) {
+        ensurePosition(position);
+        if (verdicts[position] == UNKNOWN) {
+            verdicts[position] = analyse(level, eyeball, position, hasLegalMoves) ? WINNABLE : LOST;
+        }
+        return verdicts[position] == WINNABLE;
+    }
+
+    // Called after a new move from fromCell takes the journal to position
+    public void moved(int position, int fromCell) {
+        ensurePosition(position);
+        verdicts[position] = position > 0 && verdicts[position - 1] == LOST ? LOST : UNKNOWN;
+        movedFrom[position] = fromCell;
+        // Positions from here on now belong to the new line of play
+        if (keptPosition >= position) {
+            keptPosition = -1;
+        }
+    }
+
+    // Called when the level or eyeball changes other than by a move
+    public void clear() {
+        Arrays.fill(verdicts, UNKNOWN);
+        keptPosition = -1;
+    }
+
+    private void ensurePosition(int position) {
+        if (position >= verdicts.length) {
+            int length = Math.max(verdicts.length * 2, position + 1);
+            verdicts = Arrays.copyOf(verdicts, length);
+            movedFrom = Arrays.copyOf(movedFrom, length);
+        }
+    }
+
+    private boolean analyse(Level level, Eyeball eyeball, int position, boolean hasLegalMoves) {
+        if (level.getGoalCount() == 0) {
+            return true;
+        }
+        if (!hasLegalMoves) {
+            return false;
+        }
+        int width = level.getWidth();
+        int start = Cells.pack(eyeball.getRow(), eyeball.getColumn(), width);
+
+        // A goal under the eyeball is removed when it leaves, which a legal move guarantees
+        if (level.getGoalCount() - (level.hasGoal(start) ? 1 : 0) == 0 || level.tileAt(start) == Tiles.BLANK) {
+            return true;
+        }
+
+        int cellCount = level.getHeight() * width;
+        int words = (cellCount + 63) >>> 6;
+        if (reached.length != words) {
+            kept = new long[words];
+            keptPosition = -1;
+            reached = new long[words];
+            reachedColumns = new long[words];
+            rowColors = new long[words];
+            rowShapes = new long[words];
+            columnColors = new long[words];
+            columnShapes = new long[words];
+            queue = new int[cellCount];
+        } else {
+            Arrays.fill(reached, 0L);
+            Arrays.fill(reachedColumns, 0L);
+            Arrays.fill(rowColors, 0L);
+            Arrays.fill(rowShapes, 0L);
+            Arrays.fill(columnColors, 0L);
+            Arrays.fill(columnShapes, 0L);
+        }
+
+        boolean incremental = position > 0 && keptPosition == position - 1 && verdicts[position - 1] == WINNABLE;
+        if (incremental) {
+            findTargets(level, movedFrom[position]);
+        } else {
+            targetsLeft = -1;
+        }
+        goalsLeft = level.getGoalCount();
+        search(level, start);
+
+        if (incremental && targetsLeft == 0) {
+            // The previous component held every remaining goal, and it only lost the square moved from
+            int from = movedFrom[position];
+            kept[from >>> 6] &= ~(1L << from);
+            keptPosition = position;
+            return true;
+        }
+        // The search ran to the end, so it found the whole component
+        long[] component = reached;
+        reached = kept;
+        kept = component;
+        keptPosition = position;
+        return goalsLeft == 0;
+    }
+
+    // Sets the target ranges to the runs either side of the blanked square from, and counts the kept
+    // squares in them
+    private void findTargets(Level level, int from) {
+        int height = level.getHeight();
+        int width = level.getWidth();
+        int column = Cells.column(from, width);
+        int rowStart = from - column;
+        int blank = level.blankIndex().previous(rowStart, from);
+        targetRowStart = blank < 0 ? rowStart : blank + 1;
+        blank = level.blankIndex().next(from + 1, rowStart + width);
+        targetRowEnd = blank < 0 ? rowStart + width : blank;
+
+        int columnStart = column * height;
+        int columnIndex = Cells.toColumnMajor(from, height, width);
+        blank = level.columnBlankIndex().previous(columnStart, columnIndex);
+        targetColumnStart = blank < 0 ? columnStart : blank + 1;
+        blank = level.columnBlankIndex().next(columnIndex + 1, columnStart + height);
+        targetColumnEnd = blank < 0 ? columnStart + height : blank;
+
+        targetsLeft = 0;
+        for (int cell = targetRowStart; cell < targetRowEnd; cell++) {
+            if (cell != from && isKept(cell)) {
+                targetsLeft++;
+            }
+        }
+        for (int index = targetColumnStart; index < targetColumnEnd; index++) {
+            int cell = Cells.fromColumnMajor(index, height, width);
+            if (cell != from && isKept(cell)) {
+                targetsLeft++;
+            }
+        }
+    }
+
+    private boolean isKept(int cell) {
+        return (kept[cell >>> 6] & 1L << cell) != 0;
+    }
+
+    // Breadth-first search from start until the queue runs out or every target is reached
+    private void search(Level level, int start) {
+        int height = level.getHeight();
+        int width = level.getWidth();
+        BlankIndex blanks = level.blankIndex();
+        BlankIndex columnBlanks = level.columnBlankIndex();
+        MatchIndex matches = level.matchIndex();
+
+        int head = 0;
+        int tail = reach(level, start, 0);
+        while (head < tail && targetsLeft != 0) {
+            int cell = queue[head++];
+            int code = level.tileAt(cell);
+            int colorBucket = MatchIndex.colorBucket(code);
+            int shapeBucket = MatchIndex.shapeBucket(code);
+
+            boolean rowColor = (rowColors[cell >>> 6] & 1L << cell) == 0;
+            boolean rowShape = (rowShapes[cell >>> 6] & 1L << cell) == 0;
+            if (rowColor || rowShape) {
+                int rowStart = cell - Cells.column(cell, width);
+                int blank = blanks.previous(rowStart, cell);
+                int from = blank < 0 ? rowStart : blank + 1;
+                blank = blanks.next(cell + 1, rowStart + width);
+                int to = blank < 0 ? rowStart + width : blank;
+                if (rowColor) {
+                    tail = scan(level, matches.rowBits(colorBucket), rowColors, false, from, to, tail);
+                }
+                if (rowShape) {
+                    tail = scan(level, matches.rowBits(shapeBucket), rowShapes, false, from, to, tail);
+                }
+            }
+
+            int columnIndex = Cells.toColumnMajor(cell, height, width);
+            boolean columnColor = (columnColors[columnIndex >>> 6] & 1L << columnIndex) == 0;
+            boolean columnShape = (columnShapes[columnIndex >>> 6] & 1L << columnIndex) == 0;
+            if (columnColor || columnShape) {
+                int columnStart = columnIndex - Cells.row(cell, width);
+                int blank = columnBlanks.previous(columnStart, columnIndex);
+                int from = blank < 0 ? columnStart : blank + 1;
+                blank = columnBlanks.next(columnIndex + 1, columnStart + height);
+                int to = blank < 0 ? columnStart + height : blank;
+                if (columnColor) {
+                    tail = scan(level, matches.columnBits(colorBucket), columnColors, true, from, to, tail);
+                }
+                if (columnShape) {
+                    tail = scan(level, matches.columnBits(shapeBucket), columnShapes, true, from, to, tail);
+                }
+            }
+        }
+    }
+
+    // Reaches the squares of bucket from from (inclusive) to to (exclusive), a row-major range or a
+    // column-major one when inColumn is set, a word at a time. Returns the new queue tail.
+    private int scan(Level level, long[] bucket, long[] covered, boolean inColumn, int from, int to, int tail) {
+        long[] seen = inColumn ? reachedColumns : reached;
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        for (int word = firstWord; word <= lastWord; word++) {
+            long bits = bucket[word] & (word == lastWord ? lastMask : -1L) & (word == firstWord ? firstMask : -1L);
+            covered[word] |= bits;
+            for (bits &= ~seen[word]; bits != 0; bits &= bits - 1) {
+                int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+                tail = reach(level, inColumn ? Cells.fromColumnMajor(index, level.getHeight(), level.getWidth()) : index, tail);
+            }
+        }
+        return tail;
+    }
+
+    private int reach(Level level, int cell, int tail) {
+        int columnIndex = Cells.toColumnMajor(cell, level.getHeight(), level.getWidth());
+        reached[cell >>> 6] |= 1L << cell;
+        reachedColumns[columnIndex >>> 6] |= 1L << columnIndex;
+        queue[tail++] = cell;
+        if (level.hasGoal(cell)) {
+            goalsLeft--;
+        }
+        if (targetsLeft > 0 && isKept(cell)
+                && (cell >= targetRowStart && cell < targetRowEnd || columnIndex >= targetColumnStart && columnIndex < targetColumnEnd)) {
+            targetsLeft--;
+        }
+        return tail;
+    }
+}
@@ -0,0 +1,54 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+// Zobrist keys for hashing a game state: the eyeball's square and direction, the blanked squares
+// and the remaining goals. Tile and size keys hash the level itself, see Level.getLevelHash.
+// A state's hash is the XOR of the keys of everything in it, so a move only has to XOR in or out
+// the keys of the few squares it changes.
+// Keys are derived from the cell with a SplitMix64 mix instead of being stored in tables,
+// so they cost no memory on large boards and are the same in every run.
+public final class Zobrist {
+
+    private static final int BLANK = 0;
+    private static final int GOAL = 1;
+    private static final int EYEBALL = 2;
+    private static final int DIRECTION = 3;
+    private static final int HEIGHT = 4;
+    private static final int WIDTH = 5;
+    // Tile keys take one kind per tile code from here on
+    private static final int TILE = 6;
+
+    private Zobrist() {
+    }
+
+    public static long blank(int cell) {
+        return key(BLANK, cell);
+    }
+
+    public static long goal(int cell) {
+        return key(GOAL, cell);
+    }
+
+    public static long eyeball(int cell) {
+        return key(EYEBALL, cell);
+    }
+
+    public static long direction(int direction) {
+        return key(DIRECTION, direction);
+    }
+
+    // Key for a square's tile code, 0 for blank so blank squares add nothing
+    public static long tile(int cell, int code) {
+        return code == Tiles.BLANK ? 0 : key(TILE + code, cell);
+    }
+
+    public static long size(int height, int width) {
+        return key(HEIGHT, height) ^ key(WIDTH, width);
+    }
+
+    private static long key(int kind, int index) {
+        long z = (((long) kind << 32) | (index & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L + 0x632BE59BD9B4E019L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
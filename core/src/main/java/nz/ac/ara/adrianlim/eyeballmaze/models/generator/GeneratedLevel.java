@@ -0,0 +1,93 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models.generator;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Cells;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Game;
+import nz.ac.ara.adrianlim.eyeballmaze.models.pack.LevelPackWriter;
+
+// A generated level together with its eyeball start and the length of its shortest solution
+public class GeneratedLevel {
+
+    private final String levelName;
+    private final int[][] layout;
+    private final int[] goalCells;
+    private final int eyeballRow;
+    private final int eyeballColumn;
+    private final Direction eyeballDirection;
+    private final int solutionLength;
+
+    public GeneratedLevel(String levelName, int[][] layout, int[] goalCells, int eyeballRow, int eyeballColumn, Direction eyeballDirection, int solutionLength) {
+        this.levelName = levelName;
+        this.layout = layout;
+        this.goalCells = goalCells;
+        this.eyeballRow = eyeballRow;
+        this.eyeballColumn = eyeballColumn;
+        this.eyeballDirection = eyeballDirection;
+        this.solutionLength = solutionLength;
+    }
+
+    public String getLevelName() {
+        return levelName;
+    }
+
+    public int getHeight() {
+        return layout.length;
+    }
+
+    public int getWidth() {
+        return layout[0].length;
+    }
+
+    public int getSquareAt(int row, int column) {
+        return layout[row][column];
+    }
+
+    public int getGoalCount() {
+        return goalCells.length;
+    }
+
+    public int getGoalRow(int index) {
+        return Cells.row(goalCells[index], getWidth());
+    }
+
+    public int getGoalColumn(int index) {
+        return Cells.column(goalCells[index], getWidth());
+    }
+
+    public int getEyeballRow() {
+        return eyeballRow;
+    }
+
+    public int getEyeballColumn() {
+        return eyeballColumn;
+    }
+
+    public Direction getEyeballDirection() {
+        return eyeballDirection;
+    }
+
+    public int getSolutionLength() {
+        return solutionLength;
+    }
+
+    // Adds the level to a game the same way MainActivity sets up its level
+    public void addTo(Game game) {
+        game.addLevel(levelName, copyLayout());
+        for (int goal : goalCells) {
+            game.addGoal(Cells.row(goal, getWidth()), Cells.column(goal, getWidth()));
+        }
+        game.addEyeball(eyeballRow, eyeballColumn, eyeballDirection);
+    }
+
+    public void addTo(LevelPackWriter writer) {
+        writer.addLevel(levelName, layout, goalCells, eyeballRow, eyeballColumn, eyeballDirection);
+    }
+
+    private int[][] copyLayout() {
+        int[][] copy = new int[layout.length][];
+        for (int row = 0; row < layout.length; row++) {
+            copy[row] = layout[row].clone();
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,173 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models.generator;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Cells;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Level;
+import nz.ac.ara.adrianlim.eyeballmaze.models.solver.LevelSolver;
+import nz.ac.ara.adrianlim.eyeballmaze.models.solver.SolverResult;
+
+// Generates random levels and keeps only those the solver proves solvable with a shortest
+// solution of at least the target length. Every level is built from its own random stream
+// derived from (seed, level index, attempt), so a seed gives the same levels whatever the
+// number of threads used.
+public class LevelGenerator {
+
+    // Levels per fork/join task before it stops splitting
+    private static final int LEVELS_PER_TASK = 4;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final int height;
+    private final int width;
+    private final double tileDensity;
+    private final int goalCount;
+    private final int targetSolutionLength;
+
+    private long maxNodes = 200_000;
+    private int maxAttempts = 10_000;
+
+    // tileDensity is the chance of a square holding a tile rather than a blank
+    public LevelGenerator(int height, int width, double tileDensity, int goalCount, int targetSolutionLength) {
+        if (height <= 0 || width <= 0) {
+            throw new IllegalArgumentException("Invalid level size");
+        }
+        if (tileDensity <= 0 || tileDensity > 1) {
+            throw new IllegalArgumentException("Tile density must be above 0 and at most 1");
+        }
+        if (goalCount < 1 || goalCount >= height * width) {
+            throw new IllegalArgumentException("Invalid goal count");
+        }
+        this.height = height;
+        this.width = width;
+        this.tileDensity = tileDensity;
+        this.goalCount = goalCount;
+        this.targetSolutionLength = targetSolutionLength;
+    }
+
+    // Candidates the solver cannot decide within this many nodes are thrown away
+    public void setMaxNodes(long maxNodes) {
+        this.maxNodes = maxNodes;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public GeneratedLevel[] generate(long seed, int count) {
+        return generate(seed, count, ForkJoinPool.commonPool());
+    }
+
+    public GeneratedLevel[] generate(long seed, int count, ForkJoinPool pool) {
+        GeneratedLevel[] levels = new GeneratedLevel[count];
+        pool.invoke(new GenerateTask(this, seed, levels, 0, count));
+        return levels;
+    }
+
+    // Generates the level at the given index of the seed's sequence
+    public GeneratedLevel generateLevel(long seed, int index) {
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            Random random = new Random(mix(mix(seed, index), attempt));
+            GeneratedLevel level = tryCandidate(random, "Level " + (index + 1));
+            if (level != null) {
+                return level;
+            }
+        }
+        throw new IllegalStateException("Could not generate a solvable level in " + maxAttempts + " attempts");
+    }
+
+    private GeneratedLevel tryCandidate(Random random, String levelName) {
+        int cellCount = height * width;
+        int[][] layout = new int[height][width];
+        int tileCount = 0;
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                if (random.nextDouble() < tileDensity) {
+                    layout[row][col] = 1 + random.nextInt(16);
+                    tileCount++;
+                }
+            }
+        }
+        // The eyeball and every goal need a tile of their own
+        if (tileCount < goalCount + 1) {
+            return null;
+        }
+
+        int eyeballCell = randomTileCell(random, layout, cellCount);
+        Direction direction = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+
+        int[] goalCells = new int[goalCount];
+        boolean[] used = new boolean[cellCount];
+        used[eyeballCell] = true;
+        for (int i = 0; i < goalCount; i++) {
+            int cell;
+            do {
+                cell = randomTileCell(random, layout, cellCount);
+            } while (used[cell]);
+            used[cell] = true;
+            goalCells[i] = cell;
+        }
+
+        Level level = new Level(levelName, layout);
+        for (int goal : goalCells) {
+            level.addGoal(Cells.row(goal, width), Cells.column(goal, width));
+        }
+        LevelSolver solver = new LevelSolver(level);
+        solver.setMaxNodes(maxNodes);
+        SolverResult result = solver.solve(Cells.row(eyeballCell, width), Cells.column(eyeballCell, width), direction);
+        if (!result.isSolvable() || result.getMoveCount() < targetSolutionLength) {
+            return null;
+        }
+        return new GeneratedLevel(levelName, layout, goalCells, Cells.row(eyeballCell, width), Cells.column(eyeballCell, width), direction, result.getMoveCount());
+    }
+
+    private static int randomTileCell(Random random, int[][] layout, int cellCount) {
+        int width = layout[0].length;
+        int cell;
+        do {
+            cell = random.nextInt(cellCount);
+        } while (layout[Cells.row(cell, width)][Cells.column(cell, width)] == 0);
+        return cell;
+    }
+
+    // SplitMix64 style mix so nearby seeds and indexes give unrelated random streams
+    private static long mix(long seed, long value) {
+        long z = seed + (value + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class GenerateTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient LevelGenerator generator;
+        private final long seed;
+        private final transient GeneratedLevel[] levels;
+        private final int from;
+        private final int to;
+
+        GenerateTask(LevelGenerator generator, long seed, GeneratedLevel[] levels, int from, int to) {
+            this.generator = generator;
+            this.seed = seed;
+            this.levels = levels;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEVELS_PER_TASK) {
+                for (int index = from; index < to; index++) {
+                    levels[index] = generator.generateLevel(seed, index);
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new GenerateTask(generator, seed, levels, from, middle), new GenerateTask(generator, seed, levels, middle, to));
+            }
+        }
+    }
+}
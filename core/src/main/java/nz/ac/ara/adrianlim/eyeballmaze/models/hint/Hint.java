@@ -0,0 +1,55 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models.hint;
+
+import nz.ac.ara.adrianlim.eyeballmaze.models.Cells;
+
+// Next move on a shortest solution from a game state. There is no move when the state cannot be
+// won, or when the search ran out of time first, which isComplete tells apart.
+public class Hint {
+
+    private final long stateHash;
+    private final int cell;
+    private final int width;
+    private final int remainingMoves;
+    private final boolean complete;
+
+    // cell is the target square packed as row * width + column, or -1 when there is no solution
+    public Hint(long stateHash, int cell, int width, int remainingMoves) {
+        this(stateHash, cell, width, remainingMoves, true);
+    }
+
+    // complete is false when the search gave up before finding a solution or proving there is none
+    public Hint(long stateHash, int cell, int width, int remainingMoves, boolean complete) {
+        this.stateHash = stateHash;
+        this.cell = cell;
+        this.width = width;
+        this.remainingMoves = remainingMoves;
+        this.complete = complete;
+    }
+
+    // Game.getStateHash() of the state the hint is for
+    public long getStateHash() {
+        return stateHash;
+    }
+
+    public boolean isAvailable() {
+        return cell >= 0;
+    }
+
+    // False when no hint was found in time, so the state may still be winnable
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public int getRow() {
+        return Cells.row(cell, width);
+    }
+
+    public int getColumn() {
+        return Cells.column(cell, width);
+    }
+
+    // Moves left on the shortest solution, including this one
+    public int getRemainingMoves() {
+        return remainingMoves;
+    }
+}
@@ -0,0 +1,168 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models.hint;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Cells;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Eyeball;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Game;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Level;
+import nz.ac.ara.adrianlim.eyeballmaze.models.TranspositionTable;
+import nz.ac.ara.adrianlim.eyeballmaze.models.solver.LevelSolver;
+import nz.ac.ara.adrianlim.eyeballmaze.models.solver.SolverResult;
+
+// Works out hints on a background thread from a snapshot of the game, so the caller never waits
+// on the solver. Results are cached by state hash combined with the level hash, since levels with
+// different tiles can share a state hash. When a solution is found, every state along it is cached
+// too, so a player who follows the hints gets the rest of them straight away. Every request that
+// is not cancelled is answered, with an incomplete hint when the search runs out of time or nodes.
+public class HintEngine {
+
+    public interface Listener {
+        // Called through the callback executor, only if the request was not cancelled
+        void onHint(Hint hint);
+    }
+
+    // Cache value for states that are proven to have no solution
+    private static final int NO_MOVE = -1;
+
+    private final Executor callbackExecutor;
+    private final ExecutorService worker;
+    private final TranspositionTable cache;
+
+    private long maxNodes = 500_000;
+    private long timeLimitNanos = TimeUnit.MILLISECONDS.toNanos(100);
+
+    // Bumped by every request and cancel, so results of older requests are dropped
+    private volatile int generation;
+    private Future<?> pending;
+
+    // callbackExecutor delivers results, for example by posting to the UI thread's Handler
+    public HintEngine(Executor callbackExecutor) {
+        this(callbackExecutor, 1 << 16);
+    }
+
+    public HintEngine(Executor callbackExecutor, int cacheCapacity) {
+        this.callbackExecutor = callbackExecutor;
+        this.cache = new TranspositionTable(cacheCapacity);
+        this.worker = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "HintEngine");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    // Searches that need more nodes than this give an incomplete hint
+    public void setMaxNodes(long maxNodes) {
+        this.maxNodes = maxNodes;
+    }
+
+    // Searches that take longer than this give an incomplete hint, which keeps hints quick on big levels
+    public void setTimeLimit(long time, TimeUnit unit) {
+        this.timeLimitNanos = unit.toNanos(time);
+    }
+
+    // Returns the cached hint for the game's current state, or null if it has not been worked out
+    public Hint getCachedHint(Game game) {
+        long hash = game.getStateHash();
+        long key = hash ^ game.getLevelHash();
+        synchronized (cache) {
+            int cell = cache.get(key);
+            if (cell == TranspositionTable.NOT_FOUND) {
+                return null;
+            }
+            return new Hint(hash, cell, game.getLevelWidth(), cache.getDepth(key));
+        }
+    }
+
+    // Cancels any hint in progress and starts one for the game's current state.
+    // Must be called from the thread that owns the game.
+    public synchronized void requestHint(Game game, final Listener listener) {
+        cancel();
+        final int requestGeneration = generation;
+
+        final Hint cached = getCachedHint(game);
+        if (cached != null) {
+            deliver(requestGeneration, cached, listener);
+            return;
+        }
+
+        // Everything the search needs is copied here, the game itself is never touched off this thread
+        final Level level = game.copyCurrentLevel();
+        final int row = game.getEyeballRow();
+        final int column = game.getEyeballColumn();
+        final Direction direction = game.getEyeballDirection();
+        final long hash = game.getStateHash();
+        // The copy blanks squares in its tiles, so the level hash is taken from the game
+        final long levelHash = game.getLevelHash();
+        pending = worker.submit(new Runnable() {
+            @Override
+            public void run() {
+                deliver(requestGeneration, solve(level, row, column, direction, hash, levelHash), listener);
+            }
+        });
+    }
+
+    // Stops the hint in progress, if any. Call it whenever the game state changes.
+    public synchronized void cancel() {
+        generation++;
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+    }
+
+    public void shutdown() {
+        cancel();
+        worker.shutdownNow();
+    }
+
+    private void deliver(final int requestGeneration, final Hint hint, final Listener listener) {
+        callbackExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (requestGeneration == generation) {
+                    listener.onHint(hint);
+                }
+            }
+        });
+    }
+
+    // Returns an incomplete hint when the search was cancelled or ran out of time or nodes,
+    // which deliver drops for a cancelled request
+    private Hint solve(Level level, int row, int column, Direction direction, long hash, long levelHash) {
+        LevelSolver solver = new LevelSolver(level);
+        solver.setMaxNodes(maxNodes);
+        solver.setTimeLimitNanos(timeLimitNanos);
+        SolverResult result = solver.solve(row, column, direction);
+        int width = level.getWidth();
+        if (!result.isComplete()) {
+            return new Hint(hash, NO_MOVE, width, 0, false);
+        }
+        if (!result.isSolvable()) {
+            synchronized (cache) {
+                cache.put(hash ^ levelHash, NO_MOVE, 0);
+            }
+            return new Hint(hash, NO_MOVE, width, 0);
+        }
+
+        // Walk the solution on the snapshot and cache the next move from every state on the way
+        int[] moves = result.getMoves();
+        Eyeball eyeball = new Eyeball(row, column, direction);
+        synchronized (cache) {
+            for (int i = 0; i < moves.length; i++) {
+                cache.put(level.getStateHash(eyeball) ^ levelHash, moves[i], moves.length - i);
+                level.moveTo(Cells.row(moves[i], width), Cells.column(moves[i], width), eyeball);
+            }
+        }
+        return new Hint(hash, moves.length == 0 ? NO_MOVE : moves[0], width, moves.length);
+    }
+}
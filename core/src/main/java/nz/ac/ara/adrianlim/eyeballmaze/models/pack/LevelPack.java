@@ -0,0 +1,124 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models.pack;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Cells;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Level;
+
+// Read-only view of a level pack (see LevelPackFormat). Opening a pack only checks the header;
+// a level's record is decoded when it is asked for, so packs with many levels open instantly.
+public class LevelPack {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final ByteBuffer buffer;
+    private final int levelCount;
+
+    public LevelPack(ByteBuffer buffer) {
+        this.buffer = buffer.duplicate();
+        if (this.buffer.remaining() < LevelPackFormat.HEADER_SIZE || this.buffer.getInt(0) != LevelPackFormat.MAGIC) {
+            throw new IllegalArgumentException("Not a level pack");
+        }
+        int version = this.buffer.getShort(4) & 0xFFFF;
+        if (version != LevelPackFormat.VERSION) {
+            throw new IllegalArgumentException("Unsupported level pack version " + version);
+        }
+        this.levelCount = this.buffer.getInt(8);
+        if (levelCount < 0 || LevelPackFormat.HEADER_SIZE + (long) levelCount * LevelPackFormat.INDEX_ENTRY_SIZE > this.buffer.limit()) {
+            throw new IllegalArgumentException("Level pack index is truncated");
+        }
+    }
+
+    // Memory-maps the pack file, so levels are paged in from disk only when read
+    public static LevelPack open(File file) throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+             FileChannel channel = randomAccessFile.getChannel()) {
+            return new LevelPack(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public int getLevelCount() {
+        return levelCount;
+    }
+
+    public String getLevelName(int index) {
+        int offset = recordOffset(index);
+        int length = buffer.getShort(offset) & 0xFFFF;
+        byte[] name = new byte[length];
+        for (int i = 0; i < length; i++) {
+            name[i] = buffer.get(offset + 2 + i);
+        }
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    public int getHeight(int index) {
+        return buffer.getShort(dimensionsOffset(index)) & 0xFFFF;
+    }
+
+    public int getWidth(int index) {
+        return buffer.getShort(dimensionsOffset(index) + 2) & 0xFFFF;
+    }
+
+    public int getEyeballRow(int index) {
+        return buffer.getShort(dimensionsOffset(index) + 4) & 0xFFFF;
+    }
+
+    public int getEyeballColumn(int index) {
+        return buffer.getShort(dimensionsOffset(index) + 6) & 0xFFFF;
+    }
+
+    public Direction getEyeballDirection(int index) {
+        int direction = buffer.get(dimensionsOffset(index) + 8);
+        if (direction < 0 || direction >= DIRECTIONS.length) {
+            throw new IllegalArgumentException("Invalid eyeball direction in level pack");
+        }
+        return DIRECTIONS[direction];
+    }
+
+    // Decodes a level record into a new Level with its goals added
+    public Level loadLevel(int index) {
+        int offset = dimensionsOffset(index);
+        int height = buffer.getShort(offset) & 0xFFFF;
+        int width = buffer.getShort(offset + 2) & 0xFFFF;
+        int encoding = buffer.get(offset + 9);
+        int cellCount = height * width;
+        offset += 10;
+
+        byte[] codes = new byte[cellCount];
+        offset = LevelPackFormat.decodeTiles(buffer, offset, encoding, codes);
+
+        Level level = new Level(getLevelName(index), height, width, codes);
+        int goalCount = buffer.getInt(offset);
+        for (int i = 0; i < goalCount; i++) {
+            int cell = buffer.getInt(offset + 4 + i * 4);
+            if (cell < 0 || cell >= cellCount) {
+                throw new IllegalArgumentException("Goal position is outside the level boundaries");
+            }
+            level.addGoal(Cells.row(cell, width), Cells.column(cell, width));
+        }
+        return level;
+    }
+
+    private int recordOffset(int index) {
+        if (index < 0 || index >= levelCount) {
+            throw new IllegalArgumentException("Invalid level index");
+        }
+        long offset = buffer.getLong(LevelPackFormat.HEADER_SIZE + index * LevelPackFormat.INDEX_ENTRY_SIZE);
+        if (offset < 0 || offset >= buffer.limit()) {
+            throw new IllegalArgumentException("Level pack record is out of range");
+        }
+        return (int) offset;
+    }
+
+    // Offset of the height field, just after the name
+    private int dimensionsOffset(int index) {
+        int offset = recordOffset(index);
+        return offset + 2 + (buffer.getShort(offset) & 0xFFFF);
+    }
+}
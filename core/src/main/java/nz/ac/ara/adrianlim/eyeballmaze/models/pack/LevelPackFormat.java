@@ -0,0 +1,98 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models.pack;
+
+import java.nio.ByteBuffer;
+
+import nz.ac.ara.adrianlim.eyeballmaze.models.Tiles;
+
+// Binary level pack layout (all numbers big-endian):
+//
+// Header
+//   magic            4 bytes  "EBMP"
+//   version          u16
+//   reserved         u16
+//   level count      u32
+// Index
+//   record offset    u64 per level, from the start of the pack
+// Level record
+//   name length      u16, followed by the UTF-8 name
+//   height, width    u16 each
+//   eyeball row      u16
+//   eyeball column   u16
+//   eyeball dir      u8   Direction ordinal
+//   tile encoding    u8   TILES_4_BIT or TILES_8_BIT
+//   tiles            4 bit: a blank bitmap (1 bit per square) then one nibble per square holding code - 1
+//                    8 bit: one byte per square holding the tile code
+//   goal count       u32, followed by one u32 cell (row * width + column) per goal
+//
+// The tile codec is public because GameSnapshot stores a level's tiles the same way.
+public final class LevelPackFormat {
+
+    static final int MAGIC = 0x45424D50;
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 12;
+    static final int INDEX_ENTRY_SIZE = 8;
+
+    // The original 16 tiles fit in a nibble once blanks are moved to their own bitmap
+    public static final int TILES_4_BIT = 4;
+    public static final int TILES_8_BIT = 8;
+    private static final int MAX_4_BIT_CODE = 16;
+
+    private LevelPackFormat() {
+    }
+
+    // Tile codec. codes holds one tile code per square in row-major order, 0 for blanks.
+
+    // TILES_4_BIT when every code fits in a nibble, otherwise TILES_8_BIT
+    public static int chooseTileEncoding(byte[] codes) {
+        for (byte code : codes) {
+            if ((code & 0xFF) > MAX_4_BIT_CODE) {
+                return TILES_8_BIT;
+            }
+        }
+        return TILES_4_BIT;
+    }
+
+    // Bytes the tiles of cellCount squares take in encoding
+    public static int tileBytes(int encoding, int cellCount) {
+        return encoding == TILES_4_BIT ? (cellCount + 7) / 8 + (cellCount + 1) / 2 : cellCount;
+    }
+
+    // Encodes codes into out from offset, which must be zeroed, and returns the offset after them
+    public static int encodeTiles(byte[] codes, int encoding, byte[] out, int offset) {
+        int cellCount = codes.length;
+        if (encoding == TILES_4_BIT) {
+            int nibbleStart = offset + (cellCount + 7) / 8;
+            for (int cell = 0; cell < cellCount; cell++) {
+                if (codes[cell] == Tiles.BLANK) {
+                    out[offset + (cell >>> 3)] |= (byte) (1 << (cell & 7));
+                } else {
+                    out[nibbleStart + (cell >>> 1)] |= (byte) ((codes[cell] - 1) << ((cell & 1) * 4));
+                }
+            }
+        } else {
+            System.arraycopy(codes, 0, out, offset, cellCount);
+        }
+        return offset + tileBytes(encoding, cellCount);
+    }
+
+    // Decodes tiles at offset in in, without moving its position, into codes and returns the offset
+    // after them. Throws IndexOutOfBoundsException if in ends first.
+    public static int decodeTiles(ByteBuffer in, int offset, int encoding, byte[] codes) {
+        int cellCount = codes.length;
+        if (encoding == TILES_4_BIT) {
+            int nibbleStart = offset + (cellCount + 7) / 8;
+            for (int cell = 0; cell < cellCount; cell++) {
+                boolean blank = (in.get(offset + (cell >>> 3)) & (1 << (cell & 7))) != 0;
+                codes[cell] = blank ? Tiles.BLANK : (byte) (((in.get(nibbleStart + (cell >>> 1)) >>> ((cell & 1) * 4)) & 0xF) + 1);
+            }
+        } else if (encoding == TILES_8_BIT) {
+            for (int cell = 0; cell < cellCount; cell++) {
+                codes[cell] = in.get(offset + cell);
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown tile encoding " + encoding);
+        }
+        return offset + tileBytes(encoding, cellCount);
+    }
+}
@@ -0,0 +1,113 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models.pack;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Cells;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Tiles;
+
+// Builds a level pack in memory and writes it out in the LevelPackFormat layout
+public class LevelPackWriter {
+
+    private final List<byte[]> records = new ArrayList<>();
+
+    // goalCells holds each goal packed as row * width + column
+    public void addLevel(String levelName, int[][] levelLayout, int[] goalCells, int eyeballRow, int eyeballColumn, Direction eyeballDirection) {
+        int height = levelLayout.length;
+        int width = levelLayout[0].length;
+        if (height > 0xFFFF || width > 0xFFFF) {
+            throw new IllegalArgumentException("Level is too large for a level pack");
+        }
+        if (eyeballRow < 0 || eyeballRow >= height || eyeballColumn < 0 || eyeballColumn >= width) {
+            throw new IllegalArgumentException("Eyeball position is outside the level boundaries");
+        }
+
+        int cellCount = height * width;
+        byte[] codes = new byte[cellCount];
+        for (int row = 0; row < height; row++) {
+            if (levelLayout[row].length != width) {
+                throw new IllegalArgumentException("Level rows must all be the same width");
+            }
+            for (int col = 0; col < width; col++) {
+                int code = levelLayout[row][col];
+                if (!Tiles.isValid(code)) {
+                    code = Tiles.BLANK;
+                }
+                codes[Cells.pack(row, col, width)] = (byte) code;
+            }
+        }
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+
+            byte[] name = levelName.getBytes(StandardCharsets.UTF_8);
+            if (name.length > 0xFFFF) {
+                throw new IllegalArgumentException("Level name is too long");
+            }
+            out.writeShort(name.length);
+            out.write(name);
+            out.writeShort(height);
+            out.writeShort(width);
+            out.writeShort(eyeballRow);
+            out.writeShort(eyeballColumn);
+            out.writeByte(eyeballDirection.ordinal());
+
+            int encoding = LevelPackFormat.chooseTileEncoding(codes);
+            byte[] tiles = new byte[LevelPackFormat.tileBytes(encoding, cellCount)];
+            LevelPackFormat.encodeTiles(codes, encoding, tiles, 0);
+            out.writeByte(encoding);
+            out.write(tiles);
+
+            out.writeInt(goalCells.length);
+            for (int goal : goalCells) {
+                if (goal < 0 || goal >= cellCount) {
+                    throw new IllegalArgumentException("Goal position is outside the level boundaries");
+                }
+                out.writeInt(goal);
+            }
+            out.flush();
+            records.add(bytes.toByteArray());
+        } catch (IOException e) {
+            // Writing to a byte array cannot fail
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public int getLevelCount() {
+        return records.size();
+    }
+
+    public void write(OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(LevelPackFormat.MAGIC);
+        out.writeShort(LevelPackFormat.VERSION);
+        out.writeShort(0);
+        out.writeInt(records.size());
+
+        long offset = LevelPackFormat.HEADER_SIZE + (long) records.size() * LevelPackFormat.INDEX_ENTRY_SIZE;
+        for (byte[] record : records) {
+            out.writeLong(offset);
+            offset += record.length;
+        }
+        for (byte[] record : records) {
+            out.write(record);
+        }
+        out.flush();
+    }
+
+    public void write(File file) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            write(new BufferedOutputStream(out));
+        }
+    }
+}
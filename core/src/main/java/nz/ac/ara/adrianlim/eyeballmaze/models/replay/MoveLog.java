@@ -0,0 +1,144 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models.replay;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Compact record of a play session on one level: the level index and starting state hash, then
+// one varint token per move, undo, redo or restart. A move is stored relative to the eyeball as
+// its direction and distance, which is enough to rebuild the target square on replay:
+//
+//   0 undo, 1 redo, 2 restart, 3 unused
+//   4 + ((distance - 1) << 3 | goalCompleted << 2 | direction ordinal)  for a move
+//
+// so moves of up to 15 squares take one byte. goalCompleted lets a replay check the completed goal
+// count at every step.
+//
+// Encoded layout (big-endian):
+//   magic            4 bytes  "EBRL"
+//   version          u16
+//   reserved         u16
+//   level index      u32
+//   start hash       u64      Game.getStartStateHash, the level before its first move
+//   end hash         u64      Game.getStateHash after the last event
+//   event count      u32
+//   token length     u32, followed by the tokens
+public final class MoveLog {
+
+    static final int UNDO = 0;
+    static final int REDO = 1;
+    static final int RESTART = 2;
+    static final int FIRST_MOVE = 4;
+
+    private static final int MAGIC = 0x4542524C;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 36;
+
+    private final int levelIndex;
+    private final long startHash;
+    private long endHash;
+    private int eventCount;
+    private byte[] tokens;
+    private int length;
+
+    public MoveLog(int levelIndex, long startHash) {
+        this(levelIndex, startHash, startHash, 0, new byte[64], 0);
+    }
+
+    private MoveLog(int levelIndex, long startHash, long endHash, int eventCount, byte[] tokens, int length) {
+        this.levelIndex = levelIndex;
+        this.startHash = startHash;
+        this.endHash = endHash;
+        this.eventCount = eventCount;
+        this.tokens = tokens;
+        this.length = length;
+    }
+
+    public int getLevelIndex() {
+        return levelIndex;
+    }
+
+    public long getStartHash() {
+        return startHash;
+    }
+
+    public long getEndHash() {
+        return endHash;
+    }
+
+    // Moves, undos, redos and restarts recorded
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    // Size of the recorded tokens in bytes, not counting the header
+    public int getTokenLength() {
+        return length;
+    }
+
+    // Recording, used by ReplayRecorder
+
+    void addMove(int direction, int distance, boolean goalCompleted, long hash) {
+        add(FIRST_MOVE + ((distance - 1) << 3 | (goalCompleted ? 4 : 0) | direction), hash);
+    }
+
+    void add(int token, long hash) {
+        if (length + 5 > tokens.length) {
+            tokens = Arrays.copyOf(tokens, tokens.length * 2);
+        }
+        while ((token & ~0x7F) != 0) {
+            tokens[length++] = (byte) ((token & 0x7F) | 0x80);
+            token >>>= 7;
+        }
+        tokens[length++] = (byte) token;
+        eventCount++;
+        endHash = hash;
+    }
+
+    // Reading, used by ReplayEngine. Tokens are read in place to keep replay allocation free.
+
+    byte[] tokens() {
+        return tokens;
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer out = ByteBuffer.allocate(HEADER_SIZE + length);
+        out.putInt(MAGIC);
+        out.putShort((short) VERSION);
+        out.putShort((short) 0);
+        out.putInt(levelIndex);
+        out.putLong(startHash);
+        out.putLong(endHash);
+        out.putInt(eventCount);
+        out.putInt(length);
+        out.put(tokens, 0, length);
+        return out.array();
+    }
+
+    public static MoveLog fromBytes(byte[] bytes) {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(bytes);
+            if (in.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a move log");
+            }
+            int version = in.getShort() & 0xFFFF;
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported move log version " + version);
+            }
+            in.getShort();
+            int levelIndex = in.getInt();
+            long startHash = in.getLong();
+            long endHash = in.getLong();
+            int eventCount = in.getInt();
+            int length = in.getInt();
+            if (eventCount < 0 || length < 0 || length > in.remaining()) {
+                throw new IllegalArgumentException("Move log is truncated");
+            }
+            byte[] tokens = new byte[Math.max(64, length)];
+            in.get(tokens, 0, length);
+            return new MoveLog(levelIndex, startHash, endHash, eventCount, tokens, length);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Move log is truncated", e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models.replay;
+
+import nz.ac.ara.adrianlim.eyeballmaze.models.Game;
+
+// Plays a MoveLog back through a Game with no UI. Each move is checked with canMoveTo before
+// moveTo, and the completed goal count must go up exactly when the log says a goal was completed.
+// Undo, redo and restart must be possible when the log has them. The first event that does not
+// hold stops the replay, and a full replay must end in the state hash the log recorded.
+//
+// Tokens are decoded in place, so a replay allocates nothing beyond its result. For the fastest
+// replays use a game with no listeners attached.
+public class ReplayEngine {
+
+    // Selects the log's level, checks it is in the log's starting state and replays every event
+    public ReplayResult replay(Game game, MoveLog log) {
+        return replay(game, log, Integer.MAX_VALUE);
+    }
+
+    // As replay, stopping after maxEvents events so a game can be fast-forwarded to a point in the log
+    public ReplayResult replay(Game game, MoveLog log, int maxEvents) {
+        if (log.getLevelIndex() < 0 || log.getLevelIndex() >= game.getLevelCount()) {
+            return new ReplayResult(0, 0, "Level " + log.getLevelIndex() + " is not in the game", 0, false);
+        }
+        game.setLevel(log.getLevelIndex());
+        if (game.getStateHash() != log.getStartHash()) {
+            return new ReplayResult(0, 0, "Game is not in the log's starting state", game.getStateHash(), false);
+        }
+
+        byte[] tokens = log.tokens();
+        int length = log.getTokenLength();
+        int limit = Math.min(maxEvents, log.getEventCount());
+        int offset = 0;
+        for (int event = 0; event < limit; event++) {
+            if (offset >= length) {
+                return new ReplayResult(event, event, "Log ends early", game.getStateHash(), false);
+            }
+            // Varint token
+            int token = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = tokens[offset++];
+                token |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0 && offset < length);
+
+            String failure = apply(game, token);
+            if (failure != null) {
+                return new ReplayResult(event, event, failure, game.getStateHash(), false);
+            }
+        }
+        boolean reachedEnd = limit == log.getEventCount();
+        if (reachedEnd && game.getStateHash() != log.getEndHash()) {
+            return new ReplayResult(limit, limit - 1, "Final state does not match the log", game.getStateHash(), true);
+        }
+        return new ReplayResult(limit, -1, null, game.getStateHash(), reachedEnd);
+    }
+
+    // Returns why the event could not be applied, or null
+    private String apply(Game game, int token) {
+        switch (token) {
+            case MoveLog.UNDO:
+                if (!game.canUndo()) {
+                    return "Nothing to undo";
+                }
+                game.undoLastMove();
+                return null;
+            case MoveLog.REDO:
+                if (!game.canRedo()) {
+                    return "Nothing to redo";
+                }
+                game.redoLastMove();
+                return null;
+            case MoveLog.RESTART:
+                game.restartLevel();
+                return null;
+            default:
+                if (token < MoveLog.FIRST_MOVE) {
+                    return "Unknown token " + token;
+                }
+                int move = token - MoveLog.FIRST_MOVE;
+                int direction = move & 3;
+                boolean goalCompleted = (move & 4) != 0;
+                int distance = (move >>> 3) + 1;
+                // Direction ordinals: UP, DOWN, LEFT, RIGHT
+                int row = game.getEyeballRow() + (direction == 0 ? -distance : direction == 1 ? distance : 0);
+                int column = game.getEyeballColumn() + (direction == 2 ? -distance : direction == 3 ? distance : 0);
+                if (row < 0 || row >= game.getLevelHeight() || column < 0 || column >= game.getLevelWidth()
+                        || !game.canMoveTo(row, column)) {
+                    return "Illegal move to row " + row + ", column " + column;
+                }
+                int completed = game.getCompletedGoalCount();
+                game.moveTo(row, column);
+                if (game.getCompletedGoalCount() != completed + (goalCompleted ? 1 : 0)) {
+                    return "Completed goal count differs after the move to row " + row + ", column " + column;
+                }
+                return null;
+        }
+    }
+}
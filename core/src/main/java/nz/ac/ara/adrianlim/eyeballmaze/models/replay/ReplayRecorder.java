@@ -0,0 +1,99 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models.replay;
+
+import nz.ac.ara.adrianlim.eyeballmaze.interfaces.IGameListener;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Cells;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Game;
+import nz.ac.ara.adrianlim.eyeballmaze.models.GameChanges;
+import nz.ac.ara.adrianlim.eyeballmaze.models.MoveJournal;
+
+// Records a game into a MoveLog by listening to its changes. Moves, undos, redos and restarts are
+// added to the log as they happen. Any other reset, such as another level being selected, starts
+// a new log. Logs always start from the level's starting state, since that is where a replay
+// begins, so a log started mid-game first records the moves that led there.
+public class ReplayRecorder implements IGameListener {
+
+    private final Game game;
+    private MoveLog log;
+
+    public ReplayRecorder(Game game) {
+        this(game, null);
+    }
+
+    // Carries on recording into log when the game is where it ended, otherwise starts a new log
+    public ReplayRecorder(Game game, MoveLog log) {
+        this.game = game;
+        this.log = log != null && continues(log) ? log : newLog();
+        game.addGameListener(this);
+    }
+
+    public MoveLog getLog() {
+        return log;
+    }
+
+    public void stop() {
+        game.removeGameListener(this);
+    }
+
+    @Override
+    public void onGameChanged(GameChanges changes) {
+        switch (changes.getCause()) {
+            case GameChanges.CAUSE_MOVE:
+                addMove(changes);
+                break;
+            case GameChanges.CAUSE_UNDO:
+                log.add(MoveLog.UNDO, game.getStateHash());
+                break;
+            case GameChanges.CAUSE_REDO:
+                log.add(MoveLog.REDO, game.getStateHash());
+                break;
+            default:
+                if (game.getMoveCount() == 0 && game.getCurrentLevelIndex() == log.getLevelIndex()
+                        && game.getStateHash() == log.getStartHash()) {
+                    // Back at the start, which a replay reaches with restartLevel
+                    log.add(MoveLog.RESTART, game.getStateHash());
+                } else if (!continues(log)) {
+                    log = newLog();
+                }
+        }
+    }
+
+    private void addMove(GameChanges changes) {
+        int width = game.getLevelWidth();
+        boolean goalCompleted = false;
+        for (int i = 0; i < changes.size(); i++) {
+            goalCompleted |= changes.getType(i) == GameChanges.GOAL_COMPLETED;
+        }
+        addMove(log, changes.getPreviousEyeballCell(), Cells.pack(game.getEyeballRow(), game.getEyeballColumn(), width),
+                width, goalCompleted, game.getStateHash());
+    }
+
+    private static void addMove(MoveLog log, int from, int to, int width, boolean goalCompleted, long hash) {
+        int rowDistance = Cells.row(to, width) - Cells.row(from, width);
+        int columnDistance = Cells.column(to, width) - Cells.column(from, width);
+        // Direction ordinals: UP, DOWN, LEFT, RIGHT
+        int direction = rowDistance < 0 ? 0 : rowDistance > 0 ? 1 : columnDistance < 0 ? 2 : 3;
+        int distance = Math.abs(rowDistance) + Math.abs(columnDistance);
+        log.addMove(direction, distance, goalCompleted, hash);
+    }
+
+    private boolean continues(MoveLog log) {
+        return game.getCurrentLevelIndex() == log.getLevelIndex() && game.getStateHash() == log.getEndHash();
+    }
+
+    // Replaying the move history then undoing back to the current move rebuilds both the state and
+    // the moves that can be redone. Only the final hash is known, so every event is given that one.
+    private MoveLog newLog() {
+        MoveLog started = new MoveLog(game.getCurrentLevelIndex(), game.getStartStateHash());
+        int width = game.getLevelWidth();
+        long hash = game.getStateHash();
+        int size = game.getMoveHistorySize();
+        for (int i = 0; i < size; i++) {
+            long entry = game.getMoveHistoryEntry(i);
+            addMove(started, MoveJournal.fromCell(entry), MoveJournal.toCell(entry), width, MoveJournal.goalCompleted(entry), hash);
+        }
+        for (int i = game.getMoveCount(); i < size; i++) {
+            started.add(MoveLog.UNDO, hash);
+        }
+        return started;
+    }
+}
@@ -0,0 +1,48 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models.replay;
+
+// Outcome of replaying a MoveLog
+public class ReplayResult {
+
+    private final int eventsReplayed;
+    private final int failedEvent;
+    private final String failure;
+    private final long finalHash;
+    private final boolean reachedEnd;
+
+    ReplayResult(int eventsReplayed, int failedEvent, String failure, long finalHash, boolean reachedEnd) {
+        this.eventsReplayed = eventsReplayed;
+        this.failedEvent = failedEvent;
+        this.failure = failure;
+        this.finalHash = finalHash;
+        this.reachedEnd = reachedEnd;
+    }
+
+    // True when every event replayed and the game ended in the state the log recorded
+    public boolean isValid() {
+        return failure == null;
+    }
+
+    public int getEventsReplayed() {
+        return eventsReplayed;
+    }
+
+    // Index of the event that did not replay, or -1
+    public int getFailedEvent() {
+        return failedEvent;
+    }
+
+    // Why the replay failed, or null
+    public String getFailure() {
+        return failure;
+    }
+
+    // Game.getStateHash where the replay stopped
+    public long getFinalHash() {
+        return finalHash;
+    }
+
+    // False when the replay was stopped early by an event limit
+    public boolean reachedEnd() {
+        return reachedEnd;
+    }
+}
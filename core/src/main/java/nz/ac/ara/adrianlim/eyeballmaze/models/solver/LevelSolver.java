@@ -0,0 +1,292 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models.solver;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Color;
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Shape;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Cells;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Level;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Square;
+
+// Breadth-first solver that finds a shortest winning move sequence for a level.
+// It applies the same rules as Level.canMoveTo/Level.moveTo: no diagonal or backwards moves,
+// no blanks on the path, colour or shape must match and the square left behind turns blank.
+public class LevelSolver {
+
+    // Row/column steps indexed by Direction ordinal (UP, DOWN, LEFT, RIGHT)
+    private static final int[] ROW_STEP = {-1, 1, 0, 0};
+    private static final int[] COLUMN_STEP = {0, 0, -1, 1};
+
+    private static final int BLANK_COLOR = Color.BLANK.ordinal();
+    private static final int BLANK_SHAPE = Shape.BLANK.ordinal();
+
+    private final int height;
+    private final int width;
+    private final int words;
+    private final int[] colors;
+    private final int[] shapes;
+    private final long[] initialBlanks;
+    private final long[] initialGoals;
+
+    // Scratch buffers for the reachability check, reused between nodes
+    private final int[] reachQueue;
+    private final long[] reached;
+
+    private long maxNodes = Long.MAX_VALUE;
+    private long timeLimitNanos = Long.MAX_VALUE;
+    // System.nanoTime when the search in progress started
+    private long searchStart;
+
+    // Constructor takes a snapshot of the level, so the level can keep changing afterwards
+    public LevelSolver(Level level) {
+        this.height = level.getHeight();
+        this.width = level.getWidth();
+        int cellCount = height * width;
+        this.words = (cellCount + 63) >>> 6;
+        this.colors = new int[cellCount];
+        this.shapes = new int[cellCount];
+        this.initialBlanks = new long[words];
+        this.initialGoals = new long[words];
+        this.reachQueue = new int[cellCount];
+        this.reached = new long[words];
+
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                int cell = Cells.pack(row, col, width);
+                Square square = level.getSquare(row, col);
+                colors[cell] = square.getColor().ordinal();
+                shapes[cell] = square.getShape().ordinal();
+                if (square.getColor() == Color.BLANK) {
+                    initialBlanks[cell >>> 6] |= 1L << cell;
+                }
+                if (level.hasGoalAt(row, col)) {
+                    initialGoals[cell >>> 6] |= 1L << cell;
+                }
+            }
+        }
+    }
+
+    // Stop searching after this many expanded states; the result is then marked incomplete
+    public void setMaxNodes(long maxNodes) {
+        this.maxNodes = maxNodes;
+    }
+
+    // Stop searching once this much time has passed; the result is then marked incomplete.
+    // Bounds the search on big levels, where a single node can take milliseconds.
+    public void setTimeLimitNanos(long timeLimitNanos) {
+        this.timeLimitNanos = timeLimitNanos;
+    }
+
+    public SolverResult solve(int eyeballRow, int eyeballColumn, Direction direction) {
+        if (eyeballRow < 0 || eyeballRow >= height || eyeballColumn < 0 || eyeballColumn >= width) {
+            throw new IllegalArgumentException("Eyeball position is outside the level boundaries");
+        }
+        long startTime = System.nanoTime();
+        searchStart = startTime;
+
+        // Each search state is packed as [blank words..., cell << 2 | direction].
+        // Remaining goals are not stored: a goal is gone once the eyeball has moved onto or off its square.
+        long[] start = new long[words + 1];
+        System.arraycopy(initialBlanks, 0, start, 0, words);
+        start[words] = ((long) Cells.pack(eyeballRow, eyeballColumn, width) << 2) | direction.ordinal();
+
+        if (!hasGoalsLeft(start, false)) {
+            return new SolverResult(true, true, new int[0], width, 0, System.nanoTime() - startTime);
+        }
+
+        // Nodes are stored in insertion order, which doubles as the BFS queue
+        long[][] states = new long[64][];
+        int[] parents = new int[64];
+        int nodeCount = 0;
+        Set<StateKey> visited = new HashSet<>();
+
+        states[nodeCount] = start;
+        parents[nodeCount] = -1;
+        nodeCount++;
+        visited.add(new StateKey(start));
+
+        long expanded = 0;
+        for (int head = 0; head < nodeCount; head++) {
+            // Give up when out of nodes or time, or when the searching thread is interrupted (a cancelled hint)
+            if (expanded >= maxNodes || isOutOfTime() || Thread.currentThread().isInterrupted()) {
+                return new SolverResult(false, false, new int[0], width, expanded, System.nanoTime() - startTime);
+            }
+            expanded++;
+
+            long[] state = states[head];
+            long packed = state[words];
+            int cell = (int) (packed >>> 2);
+            int facing = (int) (packed & 3);
+            int row = Cells.row(cell, width);
+            int col = Cells.column(cell, width);
+            int color = colorAt(state, cell);
+            int shape = shapeAt(state, cell);
+
+            for (int dir = 0; dir < 4; dir++) {
+                // Backwards moves are not allowed
+                if (dir == (facing ^ 1)) {
+                    continue;
+                }
+                int r = row + ROW_STEP[dir];
+                int c = col + COLUMN_STEP[dir];
+                while (r >= 0 && r < height && c >= 0 && c < width) {
+                    int target = Cells.pack(r, c, width);
+                    if (colorAt(state, target) == color || shapeAt(state, target) == shape) {
+                        long[] next = applyMove(state, cell, target, dir);
+                        StateKey key = new StateKey(next);
+                        if (visited.add(key) && (!hasGoalsLeft(next, true) || canReachAllGoals(next))) {
+                            if (nodeCount == states.length) {
+                                states = Arrays.copyOf(states, nodeCount * 2);
+                                parents = Arrays.copyOf(parents, nodeCount * 2);
+                            }
+                            states[nodeCount] = next;
+                            parents[nodeCount] = head;
+                            nodeCount++;
+
+                            if (!hasGoalsLeft(next, true)) {
+                                int[] moves = buildPath(states, parents, nodeCount - 1);
+                                return new SolverResult(true, true, moves, width, expanded, System.nanoTime() - startTime);
+                            }
+                        }
+                    }
+                    // Cannot move over a blank square
+                    if (isSet(state, target)) {
+                        break;
+                    }
+                    r += ROW_STEP[dir];
+                    c += COLUMN_STEP[dir];
+                }
+            }
+        }
+
+        return new SolverResult(false, true, new int[0], width, expanded, System.nanoTime() - startTime);
+    }
+
+    // Same effect as Level.moveTo: the square left behind turns blank
+    private long[] applyMove(long[] state, int from, int to, int dir) {
+        long[] next = state.clone();
+        next[from >>> 6] |= 1L << from;
+        next[words] = ((long) to << 2) | dir;
+        return next;
+    }
+
+    // The eyeball's own square only counts as consumed once it has moved there
+    private boolean hasGoalsLeft(long[] state, boolean arrived) {
+        int cell = (int) (state[words] >>> 2);
+        for (int i = 0; i < words; i++) {
+            long goals = remainingGoals(state, i);
+            if (arrived && i == cell >>> 6) {
+                goals &= ~(1L << cell);
+            }
+            if (goals != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Relaxed reachability that ignores direction and blanking from future moves.
+    // If a remaining goal cannot be reached even then, the state is a dead end.
+    private boolean canReachAllGoals(long[] state) {
+        Arrays.fill(reached, 0);
+        int start = (int) (state[words] >>> 2);
+        int head = 0;
+        int tail = 0;
+        reachQueue[tail++] = start;
+        reached[start >>> 6] |= 1L << start;
+
+        while (head < tail) {
+            // On big boards one check can take a while, so stop early for a cancelled or timed out
+            // search. Not pruning is always safe, and solve gives up at its next node.
+            if (Thread.currentThread().isInterrupted() || ((head & 1023) == 0 && isOutOfTime())) {
+                return true;
+            }
+            int cell = reachQueue[head++];
+            int row = Cells.row(cell, width);
+            int col = Cells.column(cell, width);
+            int color = colorAt(state, cell);
+            int shape = shapeAt(state, cell);
+            for (int dir = 0; dir < 4; dir++) {
+                int r = row + ROW_STEP[dir];
+                int c = col + COLUMN_STEP[dir];
+                while (r >= 0 && r < height && c >= 0 && c < width) {
+                    int target = Cells.pack(r, c, width);
+                    if (isSet(state, target)) {
+                        break;
+                    }
+                    if (!isSet(reached, target) && (colors[target] == color || shapes[target] == shape)) {
+                        reached[target >>> 6] |= 1L << target;
+                        reachQueue[tail++] = target;
+                    }
+                    r += ROW_STEP[dir];
+                    c += COLUMN_STEP[dir];
+                }
+            }
+        }
+
+        for (int i = 0; i < words; i++) {
+            if ((remainingGoals(state, i) & ~reached[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isOutOfTime() {
+        return System.nanoTime() - searchStart > timeLimitNanos;
+    }
+
+    // Goals whose square has not been blanked by a move
+    private long remainingGoals(long[] state, int word) {
+        return initialGoals[word] & ~(state[word] & ~initialBlanks[word]);
+    }
+
+    private int[] buildPath(long[][] states, int[] parents, int node) {
+        int length = 0;
+        for (int n = node; parents[n] != -1; n = parents[n]) {
+            length++;
+        }
+        int[] moves = new int[length];
+        for (int n = node; parents[n] != -1; n = parents[n]) {
+            moves[--length] = (int) (states[n][words] >>> 2);
+        }
+        return moves;
+    }
+
+    // Squares blanked during the search report the blank colour and shape, like a BlankSquare
+    private int colorAt(long[] state, int cell) {
+        return isSet(state, cell) ? BLANK_COLOR : colors[cell];
+    }
+
+    private int shapeAt(long[] state, int cell) {
+        return isSet(state, cell) ? BLANK_SHAPE : shapes[cell];
+    }
+
+    private static boolean isSet(long[] bits, int cell) {
+        return (bits[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    // Hash set key over a packed state
+    private static final class StateKey {
+        private final long[] state;
+        private final int hash;
+
+        StateKey(long[] state) {
+            this.state = state;
+            this.hash = Arrays.hashCode(state);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof StateKey && Arrays.equals(state, ((StateKey) obj).state);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models.solver;
+
+import nz.ac.ara.adrianlim.eyeballmaze.models.Cells;
+
+public class SolverResult {
+
+    private final boolean solvable;
+    private final boolean complete;
+    private final int[] moves;
+    private final int width;
+    private final long nodesExpanded;
+    private final long elapsedNanos;
+
+    // Constructor
+    // moves holds the target cells of each move packed as row * width + column
+    public SolverResult(boolean solvable, boolean complete, int[] moves, int width, long nodesExpanded, long elapsedNanos) {
+        this.solvable = solvable;
+        this.complete = complete;
+        this.moves = moves;
+        this.width = width;
+        this.nodesExpanded = nodesExpanded;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    // True when a winning move sequence was found
+    public boolean isSolvable() {
+        return solvable;
+    }
+
+    // True when the search finished without hitting the node limit,
+    // so an unsolvable result is a proof that no solution exists
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public int getMoveCount() {
+        return moves.length;
+    }
+
+    public int getMoveRow(int index) {
+        return Cells.row(moves[index], width);
+    }
+
+    public int getMoveColumn(int index) {
+        return Cells.column(moves[index], width);
+    }
+
+    public int[] getMoves() {
+        return moves.clone();
+    }
+
+    public long getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getNodesPerSecond() {
+        if (elapsedNanos == 0) {
+            return 0;
+        }
+        return nodesExpanded * 1_000_000_000.0 / elapsedNanos;
+    }
+}
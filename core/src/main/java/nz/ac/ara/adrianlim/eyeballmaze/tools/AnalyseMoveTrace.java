@@ -0,0 +1,47 @@
+package nz.ac.ara.adrianlim.eyeballmaze.tools;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import nz.ac.ara.adrianlim.eyeballmaze.trace.LatencyHistogram;
+import nz.ac.ara.adrianlim.eyeballmaze.trace.MoveStage;
+import nz.ac.ara.adrianlim.eyeballmaze.trace.MoveTracer;
+
+// Prints the latency of each move stage from one or more move trace dumps, run with
+//   ./gradlew :core:analyseMoveTrace --args="<trace file>..."
+// Dumps are pulled from the device with e.g. adb shell run-as nz.ac.ara.adrianlim.eyeballmaze cat files/move_trace.txt
+// or copied from the MoveTrace lines in logcat. Several dumps are merged.
+public class AnalyseMoveTrace {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: AnalyseMoveTrace <trace file>...");
+            System.exit(2);
+        }
+        MoveTracer tracer = new MoveTracer();
+        for (String path : args) {
+            try (Reader reader = new InputStreamReader(new FileInputStream(path), StandardCharsets.UTF_8)) {
+                tracer.read(reader);
+            }
+        }
+        printTable(System.out, tracer);
+    }
+
+    // Times are in milliseconds
+    static void printTable(PrintStream out, MoveTracer tracer) {
+        out.printf(Locale.ROOT, "%-10s %8s %10s %10s %10s%n", "stage", "count", "p50 ms", "p99 ms", "max ms");
+        for (MoveStage stage : MoveStage.values()) {
+            LatencyHistogram histogram = tracer.getHistogram(stage);
+            out.printf(Locale.ROOT, "%-10s %8d %10.3f %10.3f %10.3f%n",
+                    stage.name().toLowerCase(Locale.ROOT), histogram.getCount(),
+                    histogram.valueAtPercentile(50) / 1e6,
+                    histogram.valueAtPercentile(99) / 1e6,
+                    histogram.getMax() / 1e6);
+        }
+    }
+}
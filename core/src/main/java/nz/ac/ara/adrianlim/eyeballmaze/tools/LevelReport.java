@@ -0,0 +1,117 @@
+package nz.ac.ara.adrianlim.eyeballmaze.tools;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Validation result for one level of a pack
+public class LevelReport {
+
+    private final String packName;
+    private final int levelIndex;
+    private String levelName;
+    private final List<String> errors = new ArrayList<>();
+    private boolean hasLegalMoves;
+    private boolean solved;
+    private boolean solvable;
+    private boolean complete;
+    private int optimalMoveCount = -1;
+    private long nodesExpanded;
+    private long loadNanos;
+    private long solveNanos;
+
+    public LevelReport(String packName, int levelIndex) {
+        this.packName = packName;
+        this.levelIndex = levelIndex;
+    }
+
+    public String getPackName() {
+        return packName;
+    }
+
+    public int getLevelIndex() {
+        return levelIndex;
+    }
+
+    public String getLevelName() {
+        return levelName;
+    }
+
+    void setLevelName(String levelName) {
+        this.levelName = levelName;
+    }
+
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    void addError(String error) {
+        errors.add(error);
+    }
+
+    // True when the level passed every structural check
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+
+    public boolean hasLegalMoves() {
+        return hasLegalMoves;
+    }
+
+    void setHasLegalMoves(boolean hasLegalMoves) {
+        this.hasLegalMoves = hasLegalMoves;
+    }
+
+    // True when the solver was run, which only happens for valid levels
+    public boolean isSolved() {
+        return solved;
+    }
+
+    public boolean isSolvable() {
+        return solvable;
+    }
+
+    // False when the solver hit its node limit, so isSolvable is not a proof
+    public boolean isComplete() {
+        return complete;
+    }
+
+    // Length of the shortest solution, -1 when there is none
+    public int getOptimalMoveCount() {
+        return optimalMoveCount;
+    }
+
+    public long getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    void setSolverResult(boolean solvable, boolean complete, int optimalMoveCount, long nodesExpanded) {
+        this.solved = true;
+        this.solvable = solvable;
+        this.complete = complete;
+        this.optimalMoveCount = optimalMoveCount;
+        this.nodesExpanded = nodesExpanded;
+    }
+
+    // Time spent decoding the level and building it into a Game
+    public long getLoadNanos() {
+        return loadNanos;
+    }
+
+    void setLoadNanos(long loadNanos) {
+        this.loadNanos = loadNanos;
+    }
+
+    public long getSolveNanos() {
+        return solveNanos;
+    }
+
+    void setSolveNanos(long solveNanos) {
+        this.solveNanos = solveNanos;
+    }
+
+    // A level passes when it is valid and proven solvable
+    public boolean isPassed() {
+        return isValid() && solvable;
+    }
+}
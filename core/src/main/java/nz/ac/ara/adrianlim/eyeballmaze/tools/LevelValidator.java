@@ -0,0 +1,147 @@
+package nz.ac.ara.adrianlim.eyeballmaze.tools;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Cells;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Game;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Level;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Tiles;
+import nz.ac.ara.adrianlim.eyeballmaze.models.pack.LevelPack;
+import nz.ac.ara.adrianlim.eyeballmaze.models.solver.LevelSolver;
+import nz.ac.ara.adrianlim.eyeballmaze.models.solver.SolverResult;
+
+// Checks levels the same way the app would load them: each level is built into a Game through
+// addLevel/addGoal/addEyeball, checked for structural problems and a legal first move, then
+// solved to find its optimal move count. Levels are spread over a fork/join pool.
+public class LevelValidator {
+
+    // Levels per fork/join task before it stops splitting
+    private static final int LEVELS_PER_TASK = 8;
+
+    private long maxNodes = Long.MAX_VALUE;
+
+    // Levels the solver cannot decide within this many nodes are reported as incomplete
+    public void setMaxNodes(long maxNodes) {
+        this.maxNodes = maxNodes;
+    }
+
+    // Validates every level of the packs, reports are in pack order then level order
+    public List<LevelReport> validate(List<String> packNames, List<LevelPack> packs, ForkJoinPool pool) {
+        if (packNames.size() != packs.size()) {
+            throw new IllegalArgumentException("Every pack needs a name");
+        }
+        List<LevelPack> levelPacks = new ArrayList<>();
+        List<LevelReport> reports = new ArrayList<>();
+        for (int pack = 0; pack < packs.size(); pack++) {
+            for (int index = 0; index < packs.get(pack).getLevelCount(); index++) {
+                levelPacks.add(packs.get(pack));
+                reports.add(new LevelReport(packNames.get(pack), index));
+            }
+        }
+        pool.invoke(new ValidateTask(this, levelPacks, reports, 0, reports.size()));
+        return reports;
+    }
+
+    public LevelReport validate(String packName, LevelPack pack, int index) {
+        LevelReport report = new LevelReport(packName, index);
+        validate(pack, report);
+        return report;
+    }
+
+    private void validate(LevelPack pack, LevelReport report) {
+        int index = report.getLevelIndex();
+        long start = System.nanoTime();
+        Level level;
+        Game game = new Game();
+        try {
+            report.setLevelName(pack.getLevelName(index));
+            level = pack.loadLevel(index);
+
+            // Rebuild the level through the Game API, as the app does
+            int height = level.getHeight();
+            int width = level.getWidth();
+            int[][] layout = new int[height][width];
+            for (int row = 0; row < height; row++) {
+                for (int col = 0; col < width; col++) {
+                    layout[row][col] = level.getSquareAt(row, col);
+                }
+            }
+            game.addLevel(level.getLevelName(), layout);
+            for (int goal = level.findNextGoal(0); goal >= 0; goal = level.findNextGoal(goal + 1)) {
+                game.addGoal(Cells.row(goal, width), Cells.column(goal, width));
+            }
+            if (game.getGoalCount() == 0) {
+                report.addError("Level has no goals");
+            }
+
+            int eyeballRow = pack.getEyeballRow(index);
+            int eyeballColumn = pack.getEyeballColumn(index);
+            Direction direction = pack.getEyeballDirection(index);
+            game.addEyeball(eyeballRow, eyeballColumn, direction);
+            if (game.getTileCodeAt(eyeballRow, eyeballColumn) == Tiles.BLANK) {
+                report.addError("Eyeball is on a blank square");
+            }
+            report.setHasLegalMoves(game.hasLegalMoves());
+            if (!report.hasLegalMoves()) {
+                report.addError("Eyeball has no legal first move");
+            }
+        } catch (RuntimeException e) {
+            // A corrupt pack fails in the buffer reads as well as in the checks, and either way
+            // only this level is reported as bad
+            report.addError(describe(e));
+            report.setLoadNanos(System.nanoTime() - start);
+            return;
+        }
+        report.setLoadNanos(System.nanoTime() - start);
+        if (!report.isValid()) {
+            return;
+        }
+
+        // The Game has its own copy of the level, so the decoded one is free for the solver
+        LevelSolver solver = new LevelSolver(level);
+        solver.setMaxNodes(maxNodes);
+        SolverResult result = solver.solve(game.getEyeballRow(), game.getEyeballColumn(), game.getEyeballDirection());
+        report.setSolveNanos(result.getElapsedNanos());
+        report.setSolverResult(result.isSolvable(), result.isComplete(),
+                result.isSolvable() ? result.getMoveCount() : -1, result.getNodesExpanded());
+    }
+
+    // Message of e, or its class name for exceptions without one
+    static String describe(Exception e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    private static final class ValidateTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient LevelValidator validator;
+        private final transient List<LevelPack> packs;
+        private final transient List<LevelReport> reports;
+        private final int from;
+        private final int to;
+
+        ValidateTask(LevelValidator validator, List<LevelPack> packs, List<LevelReport> reports, int from, int to) {
+            this.validator = validator;
+            this.packs = packs;
+            this.reports = reports;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEVELS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    validator.validate(packs.get(i), reports.get(i));
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ValidateTask(validator, packs, reports, from, middle), new ValidateTask(validator, packs, reports, middle, to));
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package nz.ac.ara.adrianlim.eyeballmaze.tools;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+import nz.ac.ara.adrianlim.eyeballmaze.models.pack.LevelPack;
+
+// Command-line level checker for the content pipeline, run with
+//   ./gradlew :core:validateLevels --args="[--threads N] [--max-nodes N] [--output report.json] <pack or directory>..."
+// Directories are searched for .ebmp level packs. The JSON report goes to --output or standard out,
+// a summary goes to standard error, and the exit code is 1 if any level failed.
+public class ValidateLevels {
+
+    public static final String PACK_EXTENSION = ".ebmp";
+
+    public static void main(String[] args) throws IOException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        long maxNodes = Long.MAX_VALUE;
+        File output = null;
+        List<File> inputs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads":
+                    threads = Integer.parseInt(requireValue(args, ++i));
+                    break;
+                case "--max-nodes":
+                    maxNodes = Long.parseLong(requireValue(args, ++i));
+                    break;
+                case "--output":
+                    output = new File(requireValue(args, ++i));
+                    break;
+                default:
+                    inputs.add(new File(args[i]));
+            }
+        }
+        if (inputs.isEmpty()) {
+            System.err.println("Usage: ValidateLevels [--threads N] [--max-nodes N] [--output report.json] <pack or directory>...");
+            System.exit(2);
+        }
+
+        List<File> packFiles = new ArrayList<>();
+        for (File input : inputs) {
+            findPacks(input, packFiles);
+        }
+        List<String> packNames = new ArrayList<>();
+        List<LevelPack> packs = new ArrayList<>();
+        List<String> packErrors = new ArrayList<>();
+        for (File file : packFiles) {
+            try {
+                packs.add(LevelPack.open(file));
+                packNames.add(file.getPath());
+            } catch (IOException | RuntimeException e) {
+                packErrors.add(file.getPath() + ": " + LevelValidator.describe(e));
+            }
+        }
+
+        LevelValidator validator = new LevelValidator();
+        validator.setMaxNodes(maxNodes);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        List<LevelReport> reports;
+        try {
+            reports = validator.validate(packNames, packs, pool);
+        } finally {
+            pool.shutdown();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        if (output == null) {
+            Writer writer = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+            writeReport(writer, reports, packErrors, threads, elapsedNanos);
+            writer.flush();
+        } else {
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(output), StandardCharsets.UTF_8)) {
+                writeReport(writer, reports, packErrors, threads, elapsedNanos);
+            }
+        }
+
+        int failed = printSummary(System.err, reports, packErrors, elapsedNanos);
+        System.exit(failed == 0 && packErrors.isEmpty() ? 0 : 1);
+    }
+
+    private static String requireValue(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static void findPacks(File input, List<File> packFiles) {
+        if (input.isDirectory()) {
+            File[] children = input.listFiles();
+            if (children == null) {
+                return;
+            }
+            Arrays.sort(children);
+            for (File child : children) {
+                if (child.isDirectory() || child.getName().endsWith(PACK_EXTENSION)) {
+                    findPacks(child, packFiles);
+                }
+            }
+        } else {
+            packFiles.add(input);
+        }
+    }
+
+    private static int printSummary(PrintStream out, List<LevelReport> reports, List<String> packErrors, long elapsedNanos) {
+        int invalid = 0;
+        int unsolvable = 0;
+        int incomplete = 0;
+        for (LevelReport report : reports) {
+            if (!report.isValid()) {
+                invalid++;
+                out.println(report.getPackName() + " #" + report.getLevelIndex() + ": " + report.getErrors());
+            } else if (!report.isSolvable()) {
+                if (report.isComplete()) {
+                    unsolvable++;
+                    out.println(report.getPackName() + " #" + report.getLevelIndex() + ": unsolvable");
+                } else {
+                    incomplete++;
+                    out.println(report.getPackName() + " #" + report.getLevelIndex() + ": solver hit the node limit");
+                }
+            }
+        }
+        for (String error : packErrors) {
+            out.println(error);
+        }
+        out.printf(Locale.ROOT, "%d levels checked in %.1f ms: %d invalid, %d unsolvable, %d undecided%n",
+                reports.size(), elapsedNanos / 1e6, invalid, unsolvable, incomplete);
+        return invalid + unsolvable + incomplete;
+    }
+
+    // Writes the report as JSON, timings are in microseconds
+    static void writeReport(Writer writer, List<LevelReport> reports, List<String> packErrors, int threads, long elapsedNanos) {
+        PrintWriter out = new PrintWriter(writer);
+        out.println("{");
+        out.println("  \"threads\": " + threads + ",");
+        out.println("  \"elapsedMicros\": " + elapsedNanos / 1000 + ",");
+        out.print("  \"packErrors\": [");
+        for (int i = 0; i < packErrors.size(); i++) {
+            out.print((i == 0 ? "" : ", ") + quote(packErrors.get(i)));
+        }
+        out.println("],");
+        out.println("  \"levels\": [");
+        for (int i = 0; i < reports.size(); i++) {
+            LevelReport report = reports.get(i);
+            out.print("    {\"pack\": " + quote(report.getPackName())
+                    + ", \"index\": " + report.getLevelIndex()
+                    + ", \"name\": " + quote(report.getLevelName())
+                    + ", \"valid\": " + report.isValid()
+                    + ", \"errors\": [");
+            List<String> errors = report.getErrors();
+            for (int e = 0; e < errors.size(); e++) {
+                out.print((e == 0 ? "" : ", ") + quote(errors.get(e)));
+            }
+            out.print("], \"hasLegalMoves\": " + report.hasLegalMoves());
+            if (report.isSolved()) {
+                out.print(", \"solvable\": " + report.isSolvable()
+                        + ", \"complete\": " + report.isComplete()
+                        + ", \"optimalMoves\": " + report.getOptimalMoveCount()
+                        + ", \"nodesExpanded\": " + report.getNodesExpanded());
+            }
+            out.print(", \"loadMicros\": " + report.getLoadNanos() / 1000
+                    + ", \"solveMicros\": " + report.getSolveNanos() / 1000 + "}");
+            out.println(i == reports.size() - 1 ? "" : ",");
+        }
+        out.println("  ]");
+        out.println("}");
+        out.flush();
+    }
+
+    // JSON string for value, or null
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder builder = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < 0x20) {
+                builder.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
@@ -0,0 +1,132 @@
+package nz.ac.ara.adrianlim.eyeballmaze.trace;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Lock-free histogram of nanosecond durations. Buckets are log-linear: values below 16 get a bucket
+// each, above that every power of two is split into 16 buckets, so any recorded value is known to
+// within about 6%. Recording is a few atomic adds and never allocates, so it is safe on the UI
+// thread while another thread reads or dumps the counts.
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    // Enough buckets for any positive long
+    static final int BUCKET_COUNT = (64 - SUB_BITS) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        totalCount.incrementAndGet();
+        long max = maxValue.get();
+        while (value > max && !maxValue.compareAndSet(max, value)) {
+            max = maxValue.get();
+        }
+    }
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    // Smallest recorded value that percentile percent of the values are at or below, rounded up to
+    // its bucket's upper bound and capped at the largest value. Returns 0 when empty.
+    public long valueAtPercentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(bucket), maxValue.get());
+            }
+        }
+        return maxValue.get();
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            long count = other.counts.get(bucket);
+            if (count != 0) {
+                counts.addAndGet(bucket, count);
+            }
+        }
+        totalCount.addAndGet(other.totalCount.get());
+        long otherMax = other.maxValue.get();
+        long max = maxValue.get();
+        while (otherMax > max && !maxValue.compareAndSet(max, otherMax)) {
+            max = maxValue.get();
+        }
+    }
+
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            counts.set(bucket, 0);
+        }
+        totalCount.set(0);
+        maxValue.set(0);
+    }
+
+    // Compact text form: "count max bucket:count bucket:count ..." listing only non-empty buckets
+    public String encode() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(totalCount.get()).append(' ').append(maxValue.get());
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            long count = counts.get(bucket);
+            if (count != 0) {
+                builder.append(' ').append(bucket).append(':').append(count);
+            }
+        }
+        return builder.toString();
+    }
+
+    public static LatencyHistogram decode(String text) {
+        String[] parts = text.trim().split(" +");
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("Histogram needs a count and a max: " + text);
+        }
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.totalCount.set(Long.parseLong(parts[0]));
+        histogram.maxValue.set(Long.parseLong(parts[1]));
+        for (int i = 2; i < parts.length; i++) {
+            int colon = parts[i].indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("Bad histogram bucket: " + parts[i]);
+            }
+            int bucket = Integer.parseInt(parts[i].substring(0, colon));
+            if (bucket < 0 || bucket >= BUCKET_COUNT) {
+                throw new IllegalArgumentException("Histogram bucket out of range: " + bucket);
+            }
+            histogram.counts.addAndGet(bucket, Long.parseLong(parts[i].substring(colon + 1)));
+        }
+        return histogram;
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int highBit = 63 - Long.numberOfLeadingZeros(value);
+        int group = highBit - SUB_BITS + 1;
+        return group * SUB_COUNT + (int) (value >>> (highBit - SUB_BITS)) - SUB_COUNT;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_COUNT) {
+            return bucket;
+        }
+        int group = bucket / SUB_COUNT;
+        long lower = (long) (SUB_COUNT + bucket % SUB_COUNT) << (group - 1);
+        return lower + (1L << (group - 1)) - 1;
+    }
+}
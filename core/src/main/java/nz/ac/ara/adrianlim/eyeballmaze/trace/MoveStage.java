@@ -0,0 +1,19 @@
+package nz.ac.ara.adrianlim.eyeballmaze.trace;
+
+// Stages of a move in the order they happen. Each stage is timed from the end of the one before.
+public enum MoveStage {
+    // From the touch event to the click handler running
+    TAP,
+    // canMoveTo
+    VALIDATE,
+    // moveTo, including listeners redrawing the changed cells
+    MOVE,
+    // Goal, winnability and legal move checks
+    GAME_OVER,
+    // Handing the sound effects to the sound engine
+    SOUND,
+    // Until the next frame starts
+    FRAME,
+    // From the touch event to the next frame
+    TOTAL
+}
@@ -0,0 +1,108 @@
+package nz.ac.ara.adrianlim.eyeballmaze.trace;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+
+// Times the stages of each move on System.nanoTime into one LatencyHistogram per MoveStage.
+// A move is traced by begin, then mark for each stage as it finishes, then end when the frame
+// starts. One thread drives the moves. The histograms can be dumped from any thread.
+//
+// The dump is one line per stage, "stage count max bucket:count ...", after a header line, and
+// is read back by read or tools.AnalyseMoveTrace.
+public class MoveTracer {
+
+    public static final String HEADER = "eyeballmaze-move-trace 1";
+
+    private static final MoveStage[] STAGES = MoveStage.values();
+    private static final long NOT_TRACING = -1;
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[STAGES.length];
+
+    private long moveStart = NOT_TRACING;
+    private long stageStart;
+
+    public MoveTracer() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    // Starts tracing a move. inputDelayNanos is how long ago the tap happened and is recorded as TAP.
+    public void begin(long inputDelayNanos) {
+        long now = System.nanoTime();
+        long delay = Math.max(0, inputDelayNanos);
+        histograms[MoveStage.TAP.ordinal()].record(delay);
+        moveStart = now - delay;
+        stageStart = now;
+    }
+
+    public boolean isTracing() {
+        return moveStart != NOT_TRACING;
+    }
+
+    // Records stage as having just finished
+    public void mark(MoveStage stage) {
+        if (moveStart == NOT_TRACING) {
+            return;
+        }
+        long now = System.nanoTime();
+        histograms[stage.ordinal()].record(now - stageStart);
+        stageStart = now;
+    }
+
+    // Finishes the move at frameTimeNanos, recording FRAME and TOTAL
+    public void end(long frameTimeNanos) {
+        if (moveStart == NOT_TRACING) {
+            return;
+        }
+        histograms[MoveStage.FRAME.ordinal()].record(frameTimeNanos - stageStart);
+        histograms[MoveStage.TOTAL.ordinal()].record(frameTimeNanos - moveStart);
+        moveStart = NOT_TRACING;
+    }
+
+    // Drops a move that did not happen, such as an illegal one. Stages already marked are kept.
+    public void cancel() {
+        moveStart = NOT_TRACING;
+    }
+
+    public LatencyHistogram getHistogram(MoveStage stage) {
+        return histograms[stage.ordinal()];
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+
+    public void dump(Appendable out) throws IOException {
+        out.append(HEADER).append('\n');
+        for (MoveStage stage : STAGES) {
+            out.append(stage.name().toLowerCase(Locale.ROOT)).append(' ')
+                    .append(histograms[stage.ordinal()].encode()).append('\n');
+        }
+    }
+
+    // Adds the histograms of a dump to this tracer's
+    public void read(Reader reader) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        String header = lines.readLine();
+        if (!HEADER.equals(header)) {
+            throw new IllegalArgumentException("Not a move trace: " + header);
+        }
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            int space = line.indexOf(' ');
+            if (space < 0) {
+                throw new IllegalArgumentException("Bad move trace line: " + line);
+            }
+            MoveStage stage = MoveStage.valueOf(line.substring(0, space).toUpperCase(Locale.ROOT));
+            histograms[stage.ordinal()].add(LatencyHistogram.decode(line.substring(space + 1)));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class BlankIndexTest {
+
+    @Test
+    public void queries_onHandPlacedBlanks() {
+        BlankIndex blanks = new BlankIndex(200);
+        blanks.add(5);
+        blanks.add(130);
+
+        assertFalse(blanks.anyInRange(0, 5));
+        assertTrue(blanks.anyInRange(5, 6));
+        assertFalse(blanks.anyInRange(6, 130));
+        assertTrue(blanks.anyInRange(6, 131));
+        assertEquals(130, blanks.next(6, 200));
+        assertEquals(-1, blanks.next(6, 130));
+        assertEquals(5, blanks.previous(0, 130));
+        assertEquals(-1, blanks.previous(6, 130));
+        assertEquals(130, blanks.previous(0, 200));
+
+        assertTrue(blanks.remove(130));
+        assertFalse(blanks.remove(130));
+        assertEquals(-1, blanks.next(6, 200));
+    }
+
+    @Test
+    public void randomChanges_matchPlainArray() {
+        // Sizes that need one, two and three levels, including partial last words
+        for (int size : new int[] {1, 64, 65, 4096, 4097, 9000}) {
+            Random random = new Random(size);
+            BlankIndex blanks = new BlankIndex(size);
+            boolean[] expected = new boolean[size];
+            for (int step = 0; step < 3000; step++) {
+                // Keep large boards sparse so the upper levels have empty words to skip
+                int index = random.nextInt(size);
+                if (random.nextInt(size > 64 ? 40 : 3) == 0) {
+                    assertEquals(!expected[index], blanks.add(index));
+                    expected[index] = true;
+                } else {
+                    assertEquals(expected[index], blanks.remove(index));
+                    expected[index] = false;
+                }
+
+                int from = random.nextInt(size + 1);
+                int to = from + random.nextInt(size + 1 - from);
+                int first = -1;
+                int last = -1;
+                for (int i = from; i < to; i++) {
+                    if (expected[i]) {
+                        first = first < 0 ? i : first;
+                        last = i;
+                    }
+                }
+                String range = "size " + size + " range " + from + ".." + to;
+                assertEquals(range, first >= 0, blanks.anyInRange(from, to));
+                assertEquals(range, first, blanks.next(from, to));
+                assertEquals(range, last, blanks.previous(from, to));
+                assertEquals(expected[index], blanks.contains(index));
+            }
+        }
+    }
+
+    @Test
+    public void copy_isIndependent_andCopyFromRestoresIt() {
+        BlankIndex blanks = new BlankIndex(5000);
+        blanks.add(4999);
+        BlankIndex copy = blanks.copy();
+        blanks.remove(4999);
+        blanks.add(0);
+
+        assertTrue(copy.contains(4999));
+        assertFalse(copy.contains(0));
+        assertEquals(4999, copy.next(1, 5000));
+
+        blanks.copyFrom(copy);
+        assertFalse(blanks.contains(0));
+        assertEquals(4999, blanks.previous(0, 5000));
+    }
+}
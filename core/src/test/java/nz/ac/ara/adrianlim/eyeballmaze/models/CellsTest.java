@@ -0,0 +1,64 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import org.junit.Test;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+
+import static org.junit.Assert.*;
+
+public class CellsTest {
+
+    @Test
+    public void pack_isRowMajor() {
+        // 3 rows by 4 columns
+        assertEquals(0, Cells.pack(0, 0, 4));
+        assertEquals(3, Cells.pack(0, 3, 4));
+        assertEquals(4, Cells.pack(1, 0, 4));
+        assertEquals(11, Cells.pack(2, 3, 4));
+        assertEquals(2, Cells.row(11, 4));
+        assertEquals(3, Cells.column(11, 4));
+    }
+
+    @Test
+    public void columnMajor_keepsEachColumnContiguous() {
+        // Cell (1, 2) of a 3x4 level is third in the third column
+        assertEquals(2 * 3 + 1, Cells.toColumnMajor(Cells.pack(1, 2, 4), 3, 4));
+        for (int height = 1; height <= 5; height++) {
+            for (int width = 1; width <= 5; width++) {
+                boolean[] seen = new boolean[height * width];
+                for (int row = 0; row < height; row++) {
+                    for (int col = 0; col < width; col++) {
+                        int cell = Cells.pack(row, col, width);
+                        assertEquals(row, Cells.row(cell, width));
+                        assertEquals(col, Cells.column(cell, width));
+                        int index = Cells.toColumnMajor(cell, height, width);
+                        assertEquals(col * height + row, index);
+                        assertFalse(seen[index]);
+                        seen[index] = true;
+                        assertEquals(cell, Cells.fromColumnMajor(index, height, width));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void game_rowAndColumnApi_onNonSquareLevel() {
+        // Two rows of five, so a swapped row and column would land outside the level
+        Game game = new Game();
+        game.addLevel("Wide", new int[][] {{1, 1, 1, 1, 1}, {1, 1, 1, 1, 1}});
+        game.addGoal(1, 4);
+        game.addGoal(0, 3);
+        game.addEyeball(0, 0, Direction.RIGHT);
+
+        assertEquals(Cells.pack(0, 3, 5), game.findNextGoal(0));
+        assertEquals(Cells.pack(1, 4, 5), game.findNextGoal(Cells.pack(0, 4, 5)));
+        game.moveTo(0, 4);
+        game.moveTo(1, 4);
+        assertEquals(1, game.getEyeballRow());
+        assertEquals(4, game.getEyeballColumn());
+        assertEquals(Direction.DOWN, game.getEyeballDirection());
+        assertFalse(game.hasGoalAt(1, 4));
+        assertTrue(game.hasGoalAt(0, 3));
+    }
+}
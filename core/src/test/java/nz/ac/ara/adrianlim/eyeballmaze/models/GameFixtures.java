@@ -0,0 +1,70 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import java.util.Random;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+
+// Random levels and play for the model tests
+final class GameFixtures {
+
+    private GameFixtures() {
+    }
+
+    // Layout of random tiles with about one blank in six and a playable square at the eyeball
+    static int[][] randomLayout(Random random, int height, int width, int eyeballRow, int eyeballColumn) {
+        int[][] layout = new int[height][width];
+        for (int[] row : layout) {
+            for (int col = 0; col < width; col++) {
+                row[col] = random.nextInt(6) == 0 ? Tiles.BLANK : 1 + random.nextInt(Tiles.COUNT - 1);
+            }
+        }
+        layout[eyeballRow][eyeballColumn] = 1;
+        return layout;
+    }
+
+    // Adds a random level with three goals and an eyeball to game
+    static void addRandomLevel(Game game, Random random) {
+        int height = 2 + random.nextInt(9);
+        int width = 2 + random.nextInt(9);
+        int eyeballRow = random.nextInt(height);
+        int eyeballColumn = random.nextInt(width);
+        game.addLevel("Level " + game.getLevelCount(), randomLayout(random, height, width, eyeballRow, eyeballColumn));
+        for (int goal = 0; goal < 3; goal++) {
+            game.addGoal(random.nextInt(height), random.nextInt(width));
+        }
+        game.addEyeball(eyeballRow, eyeballColumn, Direction.values()[random.nextInt(Direction.values().length)]);
+    }
+
+    // Up to moves random legal moves, undoing about one in four
+    static void playRandomly(Game game, Random random, int moves) {
+        int[] targets = new int[game.getLevelHeight() + game.getLevelWidth()];
+        for (int move = 0; move < moves; move++) {
+            int count = game.legalMoves(targets);
+            if (count == 0) {
+                return;
+            }
+            int target = targets[random.nextInt(count)];
+            game.moveTo(Cells.row(target, game.getLevelWidth()), Cells.column(target, game.getLevelWidth()));
+            if (random.nextInt(4) == 0) {
+                game.undoLastMove();
+            }
+        }
+    }
+
+    // Everything a player can see or do from the current state, for comparing two games
+    static String describe(Game game) {
+        StringBuilder description = new StringBuilder(game.getCurrentLevelName()).append(':');
+        for (int row = 0; row < game.getLevelHeight(); row++) {
+            for (int col = 0; col < game.getLevelWidth(); col++) {
+                description.append(game.getTileCodeAt(row, col)).append(game.hasGoalAt(row, col) ? "g," : ",");
+            }
+        }
+        return description.append(" eyeball ").append(game.getEyeballRow()).append(',').append(game.getEyeballColumn())
+                .append(' ').append(game.getEyeballDirection())
+                .append(" goals ").append(game.getGoalCount()).append('/').append(game.getCompletedGoalCount())
+                .append(" hash ").append(game.getStateHash())
+                .append(" moves ").append(game.getMoveCount()).append(game.canUndo()).append(game.canRedo())
+                .append(" legal ").append(game.getLegalMoveCount())
+                .toString();
+    }
+}
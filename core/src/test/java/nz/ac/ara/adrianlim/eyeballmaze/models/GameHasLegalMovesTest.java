@@ -0,0 +1,79 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+
+import static org.junit.Assert.*;
+
+public class GameHasLegalMovesTest {
+
+    @Test
+    public void hasLegalMoves_deadEndAfterMove_comesBackOnUndo() {
+        // Blue cross, blue diamond, green flower: the diamond matches nothing left in the row
+        Game game = new Game();
+        game.addLevel("Dead end", new int[][] {{1, 5, 10}});
+        game.addEyeball(0, 0, Direction.RIGHT);
+        assertTrue(game.hasLegalMoves());
+        assertEquals(1, game.getLegalMoveCount());
+        assertEquals(0, game.getLegalMoveRow(0));
+        assertEquals(1, game.getLegalMoveColumn(0));
+
+        game.moveTo(0, 1);
+        assertFalse(game.hasLegalMoves());
+        assertEquals(0, game.getLegalMoveCount());
+
+        game.undoLastMove();
+        assertTrue(game.hasLegalMoves());
+        game.redoLastMove();
+        assertFalse(game.hasLegalMoves());
+        game.restartLevel();
+        assertTrue(game.hasLegalMoves());
+    }
+
+    @Test
+    public void hasLegalMoves_facingAwayFromOnlyMatch_isFalse() {
+        Game game = new Game();
+        game.addLevel("Behind", new int[][] {{5, 1, 10}});
+        game.addEyeball(0, 1, Direction.RIGHT);
+        assertFalse(game.hasLegalMoves());
+
+        game.addEyeball(0, 1, Direction.LEFT);
+        assertTrue(game.hasLegalMoves());
+    }
+
+    @Test
+    public void legalMoveIndex_throughUndoRedoAndRestart_matchesBruteForce() {
+        for (long seed = 0; seed < 200; seed++) {
+            Random random = new Random(seed);
+            Game game = new Game();
+            GameFixtures.addRandomLevel(game, random);
+            int width = game.getLevelWidth();
+            for (int step = 0; step < 40; step++) {
+                int[] expected = GameLegalMovesTest.bruteForce(game);
+                int[] actual = new int[game.getLegalMoveCount()];
+                for (int index = 0; index < actual.length; index++) {
+                    actual[index] = Cells.pack(game.getLegalMoveRow(index), game.getLegalMoveColumn(index), width);
+                }
+                Arrays.sort(actual);
+                assertArrayEquals("seed " + seed + " step " + step, expected, actual);
+                assertEquals(expected.length > 0, game.hasLegalMoves());
+
+                int choice = random.nextInt(10);
+                if (choice == 0 && game.canUndo()) {
+                    game.undoLastMove();
+                } else if (choice == 1 && game.canRedo()) {
+                    game.redoLastMove();
+                } else if (choice == 2) {
+                    game.restartLevel();
+                } else if (expected.length > 0) {
+                    int target = expected[random.nextInt(expected.length)];
+                    game.moveTo(Cells.row(target, width), Cells.column(target, width));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+
+import static org.junit.Assert.*;
+
+public class GameLegalMovesTest {
+
+    // Blue cross eyeball in the middle facing up, so moving down is backwards
+    //   row 0:  5  9  1  2
+    //   row 1:  1  1  1  0  1
+    //   row 2:  6  5  5  7  3
+    private static final int[][] LAYOUT = {{5, 9, 1, 2, 6}, {1, 1, 1, 0, 1}, {6, 5, 5, 7, 3}};
+
+    @Test
+    public void legalMoves_handBuiltBoard_listsMatchingSquaresUpToBlanks() {
+        Game game = new Game();
+        game.addLevel("Cross", LAYOUT);
+        game.addEyeball(1, 2, Direction.UP);
+        int[] out = new int[3 + 5];
+
+        int count = game.legalMoves(out);
+
+        // Up to (0, 2) and left to (1, 1) and (1, 0). Right stops at the blank and down is backwards.
+        int[] moves = Arrays.copyOf(out, count);
+        Arrays.sort(moves);
+        assertArrayEquals(new int[] {Cells.pack(0, 2, 5), Cells.pack(1, 0, 5), Cells.pack(1, 1, 5)}, moves);
+        assertEquals(game.getLegalMoveCount(), count);
+    }
+
+    @Test
+    public void legalMoves_afterRandomMoves_matchesBruteForceCanMoveTo() {
+        for (long seed = 0; seed < 200; seed++) {
+            Random random = new Random(seed);
+            Game game = new Game();
+            GameFixtures.addRandomLevel(game, random);
+            int height = game.getLevelHeight();
+            int width = game.getLevelWidth();
+            int[] out = new int[height + width];
+            for (int move = 0; move < 20; move++) {
+                int count = game.legalMoves(out);
+                int[] moves = Arrays.copyOf(out, count);
+                Arrays.sort(moves);
+                assertArrayEquals("seed " + seed + " move " + move, bruteForce(game), moves);
+                if (count == 0) {
+                    break;
+                }
+                int target = moves[random.nextInt(count)];
+                game.moveTo(Cells.row(target, width), Cells.column(target, width));
+            }
+        }
+    }
+
+    @Test
+    public void legalMoves_bufferSmallerThanHeightPlusWidth_isRejected() {
+        Game game = new Game();
+        game.addLevel("Cross", LAYOUT);
+        game.addEyeball(1, 2, Direction.UP);
+        try {
+            game.legalMoves(new int[3 + 5 - 1]);
+            fail("Short buffer was accepted");
+        } catch (IllegalArgumentException expected) {
+            assertEquals("Move buffer is smaller than the level's height plus width", expected.getMessage());
+        }
+    }
+
+    // Every square canMoveTo accepts, in cell order. canMoveTo also accepts the eyeball's own square,
+    // which is not a move.
+    static int[] bruteForce(Game game) {
+        int width = game.getLevelWidth();
+        int eyeball = Cells.pack(game.getEyeballRow(), game.getEyeballColumn(), width);
+        int[] moves = new int[game.getLevelHeight() * width];
+        int count = 0;
+        for (int cell = 0; cell < moves.length; cell++) {
+            if (cell != eyeball && game.canMoveTo(Cells.row(cell, width), Cells.column(cell, width))) {
+                moves[count++] = cell;
+            }
+        }
+        return Arrays.copyOf(moves, count);
+    }
+}
@@ -0,0 +1,91 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+import nz.ac.ara.adrianlim.eyeballmaze.interfaces.IGameListener;
+import nz.ac.ara.adrianlim.eyeballmaze.models.pack.LevelPack;
+import nz.ac.ara.adrianlim.eyeballmaze.models.pack.LevelPackWriter;
+
+import static org.junit.Assert.*;
+
+public class GameLevelPackTest {
+
+    private static final int[][] LAYOUT = {{1, 5, 9}, {0, 1, 16}};
+
+    @Test
+    public void setLevel_packLevel_loadsTilesGoalsAndEyeball() throws IOException {
+        Game game = new Game();
+        game.addLevel("Own", new int[][] {{1, 1}});
+        game.addLevelPack(writePack(-1));
+
+        game.setLevel(2);
+        assertEquals("Pack 1", game.getCurrentLevelName());
+        for (int row = 0; row < 2; row++) {
+            for (int col = 0; col < 3; col++) {
+                assertEquals(LAYOUT[row][col], game.getSquareAtIndex(row, col));
+            }
+        }
+        assertEquals(1, game.getGoalCount());
+        assertTrue(game.hasGoalAt(1, 2));
+        assertEquals(1, game.getEyeballRow());
+        assertEquals(1, game.getEyeballColumn());
+        assertEquals(Direction.UP, game.getEyeballDirection());
+    }
+
+    @Test
+    public void setLevel_eyeballOutsidePackLevel_leavesGameAsItWas() throws IOException {
+        Game game = new Game();
+        game.addLevel("Own", new int[][] {{1, 1, 1}});
+        game.addGoal(0, 2);
+        game.addEyeball(0, 0, Direction.RIGHT);
+        game.addLevelPack(writePack(1));
+        game.moveTo(0, 1);
+        String before = GameFixtures.describe(game);
+        final int[] events = new int[1];
+        game.addGameListener(new IGameListener() {
+            @Override
+            public void onGameChanged(GameChanges changes) {
+                events[0]++;
+            }
+        });
+
+        try {
+            game.setLevel(2);
+            fail("Eyeball outside the level was accepted");
+        } catch (IllegalArgumentException expected) {
+            assertEquals("Eyeball position is outside the level boundaries", expected.getMessage());
+        }
+
+        assertEquals(0, events[0]);
+        assertEquals(0, game.getCurrentLevelIndex());
+        assertEquals(before, GameFixtures.describe(game));
+        assertTrue(game.isWinnable());
+        game.undoLastMove();
+        assertEquals(0, game.getEyeballColumn());
+        game.moveTo(0, 2);
+        assertEquals(1, game.getCompletedGoalCount());
+    }
+
+    // Two pack levels with their eyeball at (1, 1) facing up. The eyeball row of level badLevel is
+    // overwritten with one past the bottom, which LevelPackWriter itself would refuse.
+    private static LevelPack writePack(int badLevel) throws IOException {
+        LevelPackWriter writer = new LevelPackWriter();
+        for (int level = 0; level < 2; level++) {
+            writer.addLevel("Pack " + level, LAYOUT, new int[] {5}, 1, 1, Direction.UP);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(out);
+        ByteBuffer bytes = ByteBuffer.wrap(out.toByteArray());
+        if (badLevel >= 0) {
+            int record = (int) bytes.getLong(12 + badLevel * 8);
+            int nameLength = bytes.getShort(record);
+            bytes.putShort(record + 2 + nameLength + 4, (short) LAYOUT.length);
+        }
+        return new LevelPack(bytes);
+    }
+}
@@ -0,0 +1,136 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Color;
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Shape;
+import nz.ac.ara.adrianlim.eyeballmaze.models.pack.LevelPack;
+import nz.ac.ara.adrianlim.eyeballmaze.models.pack.LevelPackWriter;
+
+import static org.junit.Assert.*;
+
+public class GameRestartTest {
+
+    @Test
+    public void restartLevel_afterRandomPlay_returnsToStart() {
+        for (long seed = 0; seed < 300; seed++) {
+            Random random = new Random(seed);
+            Game game = new Game();
+            GameFixtures.addRandomLevel(game, random);
+            String start = GameFixtures.describe(game);
+            for (int round = 0; round < 3; round++) {
+                GameFixtures.playRandomly(game, random, 20);
+                game.restartLevel();
+                assertEquals(start, GameFixtures.describe(game));
+            }
+        }
+    }
+
+    @Test
+    public void restartLevel_afterCompletingGoals_restoresHandBuiltStart() {
+        Game game = new Game();
+        game.addLevel("Block", new int[][] {{1, 1, 1}, {1, 1, 1}});
+        game.addGoal(0, 2);
+        game.addGoal(1, 2);
+        game.addEyeball(0, 0, Direction.RIGHT);
+        long startHash = game.getStateHash();
+
+        game.moveTo(0, 2);
+        game.moveTo(1, 2);
+        assertEquals(0, game.getGoalCount());
+        assertEquals(2, game.getCompletedGoalCount());
+        game.undoLastMove();
+
+        game.restartLevel();
+        for (int row = 0; row < 2; row++) {
+            for (int col = 0; col < 3; col++) {
+                assertEquals(1, game.getTileCodeAt(row, col));
+                assertEquals(col == 2, game.hasGoalAt(row, col));
+            }
+        }
+        assertEquals(2, game.getGoalCount());
+        assertEquals(0, game.getCompletedGoalCount());
+        assertEquals(0, game.getEyeballRow());
+        assertEquals(0, game.getEyeballColumn());
+        assertEquals(Direction.RIGHT, game.getEyeballDirection());
+        assertFalse(game.canUndo());
+        assertFalse(game.canRedo());
+        // Right to (0, 1) and (0, 2), and down to (1, 0)
+        assertEquals(3, game.getLegalMoveCount());
+        assertEquals(startHash, game.getStateHash());
+    }
+
+    @Test
+    public void restartLevel_afterSquareChanged_startsFromChangedLevel() {
+        Game game = new Game();
+        game.addLevel("Row", new int[][] {{1, 1, 1, 1}});
+        game.addGoal(0, 3);
+        game.addEyeball(0, 0, Direction.RIGHT);
+        game.moveTo(0, 1);
+        game.addSquare(new BlankSquare(), 0, 3);
+        String changed = GameFixtures.describe(game);
+
+        game.moveTo(0, 2);
+        game.restartLevel();
+        assertEquals(changed, GameFixtures.describe(game));
+        assertFalse(game.canUndo());
+    }
+
+    // The level's template is taken at its first move, so it keeps that level's eyeball start
+    @Test
+    public void setLevel_returningToPlayedLevel_startsFresh() {
+        Random random = new Random(4);
+        Game game = new Game();
+        GameFixtures.addRandomLevel(game, random);
+        String start = GameFixtures.describe(game);
+        GameFixtures.playRandomly(game, random, 10);
+        assertTrue(game.canUndo());
+        GameFixtures.addRandomLevel(game, random);
+
+        game.setLevel(0);
+        assertEquals(start, GameFixtures.describe(game));
+    }
+
+    @Test
+    public void restartLevel_packLevel_afterSwitchingLevels() throws IOException {
+        LevelPackWriter writer = new LevelPackWriter();
+        for (int level = 0; level < 3; level++) {
+            writer.addLevel("Pack " + level, new int[][] {{1, 5, 9}, {13, 1, 2}}, new int[] {2}, 0, 0, Direction.RIGHT);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        writer.write(bytes);
+        Game game = new Game();
+        game.addLevelPack(new LevelPack(ByteBuffer.wrap(bytes.toByteArray())));
+
+        game.setLevel(1);
+        String start = GameFixtures.describe(game);
+        game.moveTo(0, 1);
+        game.setLevel(2);
+        game.moveTo(0, 1);
+        game.setLevel(1);
+        assertEquals(start, GameFixtures.describe(game));
+        game.moveTo(0, 1);
+        game.moveTo(0, 2);
+        game.restartLevel();
+        assertEquals(start, GameFixtures.describe(game));
+    }
+
+    @Test
+    public void restartLevel_keepsAddedSquaresFromBeforeFirstMove() {
+        Game game = new Game();
+        game.addLevel("Row", new int[][] {{1, 1, 1}});
+        game.addSquare(new PlayableSquare(Color.RED, Shape.CROSS), 0, 2);
+        game.addGoal(0, 2);
+        game.addEyeball(0, 0, Direction.RIGHT);
+        String start = GameFixtures.describe(game);
+        game.moveTo(0, 1);
+        game.restartLevel();
+        assertEquals(start, GameFixtures.describe(game));
+    }
+}
@@ -0,0 +1,188 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+
+import static org.junit.Assert.*;
+
+public class GameSnapshotTest {
+
+    @Test
+    public void restore_withoutLevel_matchesGameIncludingUndoAndRedo() {
+        for (long seed = 0; seed < 200; seed++) {
+            Game game = createGame(seed);
+            GameFixtures.playRandomly(game, new Random(seed), 30);
+            byte[] snapshot = GameSnapshot.write(game, 99, 0);
+
+            Game restored = createGame(seed);
+            assertEquals(99, GameSnapshot.restore(restored, snapshot));
+            assertSameAfterRedoAndRestart(game, restored);
+        }
+    }
+
+    @Test
+    public void restore_withLevel_standsAloneInEmptyGame() {
+        for (long seed = 0; seed < 200; seed++) {
+            Game game = createGame(seed);
+            GameFixtures.playRandomly(game, new Random(seed), 30);
+            byte[] snapshot = GameSnapshot.write(game, 1234, GameSnapshot.LEVEL_INCLUDED);
+
+            Game restored = new Game();
+            assertEquals(1234, GameSnapshot.restore(restored, snapshot));
+            assertSameAfterRedoAndRestart(game, restored);
+        }
+    }
+
+    @Test
+    public void restore_midUndo_keepsMovesToRedo() {
+        int[][] layout = {{1, 1, 1, 1, 1}};
+        Game game = new Game();
+        game.addLevel("Row", layout);
+        game.addGoal(0, 4);
+        game.addEyeball(0, 0, Direction.RIGHT);
+        for (int col = 1; col < 5; col++) {
+            game.moveTo(0, col);
+        }
+        game.undoLastMove();
+        game.undoLastMove();
+
+        for (int flags : new int[] {0, GameSnapshot.LEVEL_INCLUDED}) {
+            Game restored = new Game();
+            if (flags == 0) {
+                restored.addLevel("Row", layout);
+                restored.addGoal(0, 4);
+                restored.addEyeball(0, 0, Direction.RIGHT);
+            }
+            GameSnapshot.restore(restored, GameSnapshot.write(game, 0, flags));
+            assertEquals(2, restored.getMoveCount());
+            assertEquals(2, restored.getEyeballColumn());
+            assertTrue(restored.canRedo());
+            restored.redoLastMove();
+            restored.redoLastMove();
+            assertEquals(4, restored.getEyeballColumn());
+            assertEquals(1, restored.getCompletedGoalCount());
+        }
+    }
+
+    @Test
+    public void write_handBuiltLevel_hasDocumentedByteLayout() {
+        Game game = new Game();
+        game.addLevel("Row", new int[][] {{1, 1, 5}});
+        game.addGoal(0, 2);
+        game.addEyeball(0, 0, Direction.RIGHT);
+        long startHash = game.getStateHash();
+        game.moveTo(0, 1);
+        game.moveTo(0, 2);
+        game.undoLastMove();
+
+        ByteBuffer expected = ByteBuffer.allocate(90);
+        expected.put(new byte[] {'E', 'B', 'G', 'S'});
+        expected.putShort((short) 2).putShort((short) GameSnapshot.LEVEL_INCLUDED);
+        expected.putInt(0);
+        expected.putLong(startHash).putLong(game.getLevelHash());
+        expected.putLong(1234);
+        // Two moves in the journal, one applied, to cells 1 and 2
+        expected.putInt(2).putInt(1).putInt(1).putInt(2);
+        expected.putShort((short) 3).put(new byte[] {'R', 'o', 'w'});
+        expected.putInt(1).putInt(3).putInt(0).putInt(0).put((byte) Direction.RIGHT.ordinal());
+        expected.putInt(0);
+        // 4-bit tiles: no blanks, then code - 1 per nibble, low nibble first
+        expected.put((byte) 4).put(new byte[] {0x00, 0x00, 0x04});
+        expected.putInt(1).putInt(2);
+
+        assertArrayEquals(expected.array(), GameSnapshot.write(game, 1234, GameSnapshot.LEVEL_INCLUDED));
+        byte[] withoutLevel = GameSnapshot.write(game, 1234, 0);
+        byte[] header = Arrays.copyOf(expected.array(), 52);
+        header[7] = 0;
+        assertArrayEquals(header, withoutLevel);
+    }
+
+    @Test
+    public void restore_truncatedSnapshot_isRejected() {
+        Game game = createGame(1);
+        GameFixtures.playRandomly(game, new Random(1), 10);
+        for (int flags : new int[] {0, GameSnapshot.LEVEL_INCLUDED}) {
+            byte[] snapshot = GameSnapshot.write(game, 0, flags);
+            for (int length = 0; length < snapshot.length; length++) {
+                Game restored = flags == 0 ? createGame(1) : new Game();
+                try {
+                    GameSnapshot.restore(restored, Arrays.copyOf(snapshot, length));
+                    fail("Snapshot cut to " + length + " of " + snapshot.length + " bytes was accepted");
+                } catch (IllegalArgumentException expected) {
+                    // Rejected as it should be
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void restore_withoutLevel_intoDifferentLevel_isRejected() {
+        Game game = createGame(2);
+        byte[] snapshot = GameSnapshot.write(game, 0, 0);
+        GameSnapshot.restore(createGame(3), snapshot);
+    }
+
+    @Test
+    public void restore_withoutLevel_intoEditedLevelWithSameStart_isRejected() {
+        // Tile codes are not part of the state hash, so only the level hash tells these apart
+        Game game = new Game();
+        game.addLevel("Row", new int[][] {{1, 1, 5}});
+        game.addGoal(0, 2);
+        game.addEyeball(0, 0, Direction.RIGHT);
+        game.moveTo(0, 1);
+        byte[] snapshot = GameSnapshot.write(game, 0, 0);
+
+        Game edited = new Game();
+        edited.addLevel("Row", new int[][] {{1, 1, 9}});
+        edited.addGoal(0, 2);
+        edited.addEyeball(0, 0, Direction.RIGHT);
+        assertEquals(game.getStartStateHash(), edited.getStateHash());
+        try {
+            GameSnapshot.restore(edited, snapshot);
+            fail("Snapshot of a different board was accepted");
+        } catch (IllegalArgumentException expected) {
+            assertEquals("Snapshot does not match the level", expected.getMessage());
+        }
+    }
+
+    @Test
+    public void write_beforeFirstMove_leavesGameUnchanged() {
+        Game game = createGame(4);
+        String before = GameFixtures.describe(game);
+        GameSnapshot.write(game, 0, GameSnapshot.LEVEL_INCLUDED);
+        assertEquals(before, GameFixtures.describe(game));
+
+        // The start is still taken from the level as it is when the first move is made
+        game.addEyeball(game.getEyeballRow(), game.getEyeballColumn(), Direction.DOWN);
+        long start = game.getStateHash();
+        GameFixtures.playRandomly(game, new Random(4), 5);
+        game.restartLevel();
+        assertEquals(start, game.getStateHash());
+    }
+
+    // A level to switch away from, then a random level that the snapshot is taken on
+    private static Game createGame(long seed) {
+        Game game = new Game();
+        game.addLevel("Other", new int[][] {{1, 2}});
+        game.addEyeball(0, 0, Direction.RIGHT);
+        GameFixtures.addRandomLevel(game, new Random(seed));
+        return game;
+    }
+
+    private static void assertSameAfterRedoAndRestart(Game expected, Game actual) {
+        assertEquals(GameFixtures.describe(expected), GameFixtures.describe(actual));
+        while (expected.canRedo()) {
+            expected.redoLastMove();
+            actual.redoLastMove();
+        }
+        assertEquals(GameFixtures.describe(expected), GameFixtures.describe(actual));
+        expected.restartLevel();
+        actual.restartLevel();
+        assertEquals(GameFixtures.describe(expected), GameFixtures.describe(actual));
+    }
+}
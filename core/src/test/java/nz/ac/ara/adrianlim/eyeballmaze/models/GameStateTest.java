@@ -0,0 +1,94 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+
+import static org.junit.Assert.*;
+
+public class GameStateTest {
+
+    @Test
+    public void moveTo_returnsNewStateAndLeavesOldOneUnchanged() {
+        Game game = new Game();
+        game.addLevel("Row", new int[][] {{1, 5, 9, 13}});
+        game.addGoal(0, 2);
+        game.addEyeball(0, 0, Direction.RIGHT);
+        GameState start = GameState.of(game);
+
+        GameState moved = start.moveTo(0, 1);
+
+        assertEquals(0, start.getEyeballColumn());
+        assertEquals(1, start.getSquareAt(0, 0));
+        assertEquals(0, start.getMoveCount());
+        assertEquals(game.getStateHash(), start.getStateHash());
+        assertEquals(1, moved.getEyeballColumn());
+        assertEquals(Tiles.BLANK, moved.getSquareAt(0, 0));
+        assertEquals(1, moved.getMoveCount());
+
+        GameState finished = moved.moveTo(0, 2);
+        assertEquals(0, finished.getGoalCount());
+        assertEquals(1, finished.getCompletedGoalCount());
+        assertTrue(moved.hasGoalAt(0, 2));
+        assertFalse(finished.hasGoalAt(0, 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void moveTo_backwards_isRejected() {
+        Game game = new Game();
+        game.addLevel("Row", new int[][] {{1, 1, 1}});
+        game.addEyeball(0, 1, Direction.RIGHT);
+        GameState.of(game).moveTo(0, 0);
+    }
+
+    @Test
+    public void afterSameMoves_matchesGame() {
+        for (long seed = 0; seed < 200; seed++) {
+            Random random = new Random(seed);
+            Game game = new Game();
+            GameFixtures.addRandomLevel(game, random);
+            GameState state = GameState.of(game);
+            int[] gameMoves = new int[game.getLevelHeight() + game.getLevelWidth()];
+            int[] stateMoves = new int[gameMoves.length];
+            for (int move = 0; move < 30; move++) {
+                assertMatches(game, state);
+                int count = game.legalMoves(gameMoves);
+                assertEquals(count, state.findLegalMoves(stateMoves));
+                Arrays.sort(gameMoves, 0, count);
+                Arrays.sort(stateMoves, 0, count);
+                assertArrayEquals(Arrays.copyOf(gameMoves, count), Arrays.copyOf(stateMoves, count));
+                if (count == 0) {
+                    break;
+                }
+                int target = gameMoves[random.nextInt(count)];
+                int row = Cells.row(target, game.getLevelWidth());
+                int column = Cells.column(target, game.getLevelWidth());
+                game.moveTo(row, column);
+                state = state.moveTo(row, column);
+            }
+        }
+    }
+
+    private static void assertMatches(Game game, GameState state) {
+        Level level = game.copyCurrentLevel();
+        Eyeball eyeball = new Eyeball(game.getEyeballRow(), game.getEyeballColumn(), game.getEyeballDirection());
+        assertEquals(level.getStateHash(eyeball), state.getStateHash());
+        assertEquals(game.getStateHash(), state.getStateHash());
+        assertEquals(game.getEyeballRow(), state.getEyeballRow());
+        assertEquals(game.getEyeballColumn(), state.getEyeballColumn());
+        assertEquals(game.getEyeballDirection(), state.getEyeballDirection());
+        assertEquals(game.getGoalCount(), state.getGoalCount());
+        assertEquals(game.getCompletedGoalCount(), state.getCompletedGoalCount());
+        assertEquals(game.getMoveCount(), state.getMoveCount());
+        for (int row = 0; row < game.getLevelHeight(); row++) {
+            for (int col = 0; col < game.getLevelWidth(); col++) {
+                assertEquals(level.getColorAt(row, col), Tiles.colorOf(state.getSquareAt(row, col)));
+                assertEquals(level.getShapeAt(row, col), Tiles.shapeOf(state.getSquareAt(row, col)));
+                assertEquals(level.hasGoalAt(row, col), state.hasGoalAt(row, col));
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+
+import static org.junit.Assert.*;
+
+public class GoalIndexTest {
+
+    @Test
+    public void next_walksGoalsInCellOrderAcrossWords() {
+        GoalIndex goals = new GoalIndex(130);
+        assertEquals(-1, goals.next(0));
+        for (int cell : new int[] {129, 0, 64, 63}) {
+            assertTrue(goals.add(cell));
+        }
+        assertFalse(goals.add(63));
+        assertEquals(4, goals.size());
+
+        assertEquals(0, goals.next(0));
+        assertEquals(63, goals.next(1));
+        assertEquals(64, goals.next(64));
+        assertEquals(129, goals.next(65));
+        assertEquals(-1, goals.next(130));
+
+        assertTrue(goals.remove(64));
+        assertFalse(goals.remove(64));
+        assertEquals(129, goals.next(64));
+        assertEquals(3, goals.size());
+    }
+
+    @Test
+    public void randomAddsAndRemoves_matchSortedSet() {
+        for (int cellCount : new int[] {1, 63, 64, 65, 200}) {
+            Random random = new Random(cellCount);
+            GoalIndex goals = new GoalIndex(cellCount);
+            TreeSet<Integer> expected = new TreeSet<>();
+            for (int step = 0; step < 2000; step++) {
+                int cell = random.nextInt(cellCount);
+                if (random.nextBoolean()) {
+                    assertEquals(expected.add(cell), goals.add(cell));
+                } else {
+                    assertEquals(expected.remove(cell), goals.remove(cell));
+                }
+                assertEquals(expected.size(), goals.size());
+                int probe = random.nextInt(cellCount);
+                assertEquals(expected.contains(probe), goals.contains(probe));
+                Integer ceiling = expected.ceiling(probe);
+                assertEquals(ceiling == null ? -1 : ceiling, goals.next(probe));
+            }
+            goals.clear();
+            assertEquals(0, goals.size());
+            assertEquals(-1, goals.next(0));
+        }
+    }
+
+    @Test
+    public void game_sameGoalAddedTwice_countsOnce() {
+        Game game = new Game();
+        game.addLevel("Row", new int[][] {{1, 1, 1}});
+        game.addGoal(0, 2);
+        game.addGoal(0, 2);
+        game.addEyeball(0, 0, Direction.RIGHT);
+        assertEquals(1, game.getGoalCount());
+
+        game.moveTo(0, 2);
+        assertEquals(0, game.getGoalCount());
+        assertEquals(1, game.getCompletedGoalCount());
+        assertFalse(game.hasGoalAt(0, 2));
+    }
+}
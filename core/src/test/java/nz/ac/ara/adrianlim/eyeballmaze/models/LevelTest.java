@@ -0,0 +1,107 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import org.junit.Test;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Color;
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Shape;
+
+import static org.junit.Assert.*;
+
+public class LevelTest {
+
+    @Test
+    public void getSquareAt_afterEyeballLeaves_keepsLayoutCode() {
+        Game game = new Game();
+        game.addLevel("Row", new int[][] {{1, 5, 20}});
+        game.addEyeball(0, 0, Direction.RIGHT);
+        game.moveTo(0, 1);
+
+        // The square left behind is blank in play but keeps the code it was laid out with
+        assertEquals(1, game.getSquareAtIndex(0, 0));
+        assertEquals(Tiles.BLANK, game.getTileCodeAt(0, 0));
+        assertEquals(5, game.getSquareAtIndex(0, 1));
+        assertEquals(5, game.getTileCodeAt(0, 1));
+        // Values outside the tile set load as blank
+        assertEquals(Tiles.BLANK, game.getSquareAtIndex(0, 2));
+
+        game.undoLastMove();
+        assertEquals(1, game.getTileCodeAt(0, 0));
+    }
+
+    @Test
+    public void constructors_layoutAndTileCodes_giveTheSameBoard() {
+        int[][] layout = {{1, 6, 0}, {11, 16, 3}};
+        Level fromLayout = new Level("Board", layout);
+        Level fromCodes = new Level("Board", 2, 3, new byte[] {1, 6, 0, 11, 16, 3});
+
+        for (Level level : new Level[] {fromLayout, fromCodes}) {
+            assertEquals(Color.BLUE, level.getColorAt(0, 0));
+            assertEquals(Shape.CROSS, level.getShapeAt(0, 0));
+            assertEquals(Color.GREEN, level.getColorAt(0, 1));
+            assertEquals(Shape.DIAMOND, level.getShapeAt(0, 1));
+            assertSame(BlankSquare.INSTANCE, level.getSquare(0, 2));
+            assertEquals(Color.RED, level.getColorAt(1, 0));
+            assertEquals(Shape.FLOWER, level.getShapeAt(1, 0));
+            assertEquals(Color.YELLOW, level.getColorAt(1, 1));
+            assertEquals(Shape.STAR, level.getShapeAt(1, 1));
+        }
+        assertEquals(fromLayout.getLevelHash(), fromCodes.getLevelHash());
+    }
+
+    @Test
+    public void moveTo_blanksSquareLeftAndCompletesGoal_revertMovePutsBothBack() {
+        // Blue cross, blue diamond, red diamond with a goal on the red diamond
+        Level level = new Level("Row", new int[][] {{1, 5, 7}});
+        level.addGoal(0, 2);
+        Eyeball eyeball = new Eyeball(0, 0, Direction.RIGHT);
+
+        long first = level.moveTo(0, 1, eyeball);
+        assertSame(BlankSquare.INSTANCE, level.getSquare(0, 0));
+        assertEquals(1, level.getSquareAt(0, 0));
+        long second = level.moveTo(0, 2, eyeball);
+        assertFalse(level.hasGoalAt(0, 2));
+        assertEquals(0, level.getGoalCount());
+        assertEquals(1, level.getCompletedGoalCount());
+
+        level.revertMove(second, eyeball);
+        assertTrue(level.hasGoalAt(0, 2));
+        assertEquals(0, level.getCompletedGoalCount());
+        assertEquals(Color.BLUE, level.getColorAt(0, 1));
+        level.revertMove(first, eyeball);
+        assertEquals(Shape.CROSS, level.getShapeAt(0, 0));
+        assertEquals(0, eyeball.getColumn());
+        assertEquals(Direction.RIGHT, eyeball.getDirection());
+    }
+
+    @Test
+    public void hasBlankFreePathTo_stopsAtBlanksInRowsAndColumns() {
+        Level level = new Level("Grid", new int[][] {{1, 1, 0, 1}, {1, 1, 1, 1}, {0, 1, 1, 1}, {1, 1, 1, 1}});
+        Eyeball eyeball = new Eyeball(1, 1, Direction.UP);
+
+        assertTrue(level.hasBlankFreePathTo(1, 3, eyeball));
+        assertTrue(level.hasBlankFreePathTo(3, 1, eyeball));
+        assertTrue(level.hasBlankFreePathTo(0, 1, eyeball));
+
+        eyeball.setPosition(0, 0);
+        assertTrue(level.hasBlankFreePathTo(0, 1, eyeball));
+        assertFalse(level.hasBlankFreePathTo(0, 3, eyeball));
+        assertTrue(level.hasBlankFreePathTo(1, 0, eyeball));
+        assertFalse(level.hasBlankFreePathTo(3, 0, eyeball));
+    }
+
+    @Test
+    public void copy_keepsBlanksAndRemainingGoalsOnly() {
+        Level level = new Level("Row", new int[][] {{1, 5, 7, 1}});
+        level.addGoal(0, 1);
+        level.addGoal(0, 3);
+        level.moveTo(0, 1, new Eyeball(0, 0, Direction.RIGHT));
+
+        Level copy = level.copy();
+        assertSame(BlankSquare.INSTANCE, copy.getSquare(0, 0));
+        assertFalse(copy.hasGoalAt(0, 1));
+        assertTrue(copy.hasGoalAt(0, 3));
+        assertEquals(1, copy.getGoalCount());
+        assertEquals(1, copy.getCompletedGoalCount());
+    }
+}
@@ -0,0 +1,96 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MatchIndexTest {
+
+    @Test
+    public void findMatches_handBuiltRow_listsColourAndShapeMatchesNearestFirst() {
+        // Blue cross, green cross, green diamond, blue star, red flower
+        int[] codes = {1, 2, 6, 13, 11};
+        MatchIndex matches = new MatchIndex(1, codes.length);
+        for (int cell = 0; cell < codes.length; cell++) {
+            matches.add(cell, codes[cell]);
+        }
+        int[] moves = new int[codes.length + 1];
+        moves[0] = -7;
+
+        // Matches for a blue cross appended after the one entry already there
+        int count = matches.findMatches(1, false, 1, 5, false, moves, 1);
+        assertArrayEquals(new int[] {-7, 1, 3}, Arrays.copyOf(moves, count));
+        count = matches.findMatches(1, false, 1, 5, true, moves, 0);
+        assertArrayEquals(new int[] {3, 1}, Arrays.copyOf(moves, count));
+
+        matches.remove(3, 13);
+        count = matches.findMatches(1, false, 1, 5, false, moves, 0);
+        assertArrayEquals(new int[] {1}, Arrays.copyOf(moves, count));
+        assertEquals(0, matches.findMatches(Tiles.BLANK, false, 0, 5, false, moves, 0));
+    }
+
+    @Test
+    public void findMatches_randomBoards_matchesScanOfRowsAndColumns() {
+        for (long seed = 0; seed < 100; seed++) {
+            Random random = new Random(seed);
+            int height = 1 + random.nextInt(12);
+            int width = 1 + random.nextInt(12);
+            int[] codes = new int[height * width];
+            MatchIndex matches = new MatchIndex(height, width);
+            for (int cell = 0; cell < codes.length; cell++) {
+                codes[cell] = random.nextInt(5) == 0 ? Tiles.BLANK : 1 + random.nextInt(Tiles.COUNT - 1);
+                if (codes[cell] != Tiles.BLANK) {
+                    matches.add(cell, codes[cell]);
+                }
+            }
+            int[] moves = new int[codes.length];
+            for (int step = 0; step < 200; step++) {
+                // Blank a square now and then, as moves do
+                int blanked = random.nextInt(codes.length);
+                if (codes[blanked] != Tiles.BLANK && random.nextInt(4) == 0) {
+                    matches.remove(blanked, codes[blanked]);
+                    codes[blanked] = Tiles.BLANK;
+                }
+
+                int code = 1 + random.nextInt(Tiles.COUNT - 1);
+                boolean inColumn = random.nextBoolean();
+                boolean descending = random.nextBoolean();
+                int from = random.nextInt(codes.length + 1);
+                int to = from + random.nextInt(codes.length + 1 - from);
+                int count = matches.findMatches(code, inColumn, from, to, descending, moves, 0);
+
+                int[] expected = new int[to - from];
+                int expectedCount = 0;
+                for (int i = 0; i < to - from; i++) {
+                    int index = descending ? to - 1 - i : from + i;
+                    int cell = inColumn ? Cells.fromColumnMajor(index, height, width) : index;
+                    if (codes[cell] != Tiles.BLANK && Tiles.matches(code, codes[cell])) {
+                        expected[expectedCount++] = cell;
+                    }
+                }
+                assertArrayEquals("seed " + seed + " step " + step, Arrays.copyOf(expected, expectedCount), Arrays.copyOf(moves, count));
+            }
+        }
+    }
+
+    @Test
+    public void copy_isIndependent_andCopyFromRestoresIt() {
+        MatchIndex matches = new MatchIndex(2, 2);
+        matches.add(0, 1);
+        matches.add(3, 5);
+        MatchIndex copy = matches.copy();
+        matches.remove(3, 5);
+
+        int[] moves = new int[4];
+        assertEquals(1, copy.findMatches(1, false, 1, 4, false, moves, 0));
+        assertEquals(3, moves[0]);
+        assertEquals(0, matches.findMatches(1, false, 1, 4, false, moves, 0));
+
+        matches.copyFrom(copy);
+        assertEquals(1, matches.findMatches(1, true, 1, 4, false, moves, 0));
+        assertEquals(3, moves[0]);
+    }
+}
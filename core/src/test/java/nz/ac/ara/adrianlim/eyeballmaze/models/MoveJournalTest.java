@@ -0,0 +1,123 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Color;
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+
+import static org.junit.Assert.*;
+
+public class MoveJournalTest {
+
+    @Test
+    public void pack_roundTripsEveryField() {
+        int largestCell = MoveJournal.MAX_CELLS - 1;
+        long entry = MoveJournal.pack(largestCell, 12345, Direction.RIGHT.ordinal(), true, false, Tiles.COUNT - 1);
+
+        assertEquals(largestCell, MoveJournal.fromCell(entry));
+        assertEquals(12345, MoveJournal.toCell(entry));
+        assertEquals(Direction.RIGHT.ordinal(), MoveJournal.previousDirection(entry));
+        assertTrue(MoveJournal.goalCompleted(entry));
+        assertFalse(MoveJournal.goalRemoved(entry));
+        assertEquals(Tiles.COUNT - 1, MoveJournal.replacedTile(entry));
+
+        entry = MoveJournal.pack(0, largestCell, Direction.UP.ordinal(), false, true, Tiles.BLANK);
+        assertEquals(0, MoveJournal.fromCell(entry));
+        assertEquals(largestCell, MoveJournal.toCell(entry));
+        assertEquals(Direction.UP.ordinal(), MoveJournal.previousDirection(entry));
+        assertFalse(MoveJournal.goalCompleted(entry));
+        assertTrue(MoveJournal.goalRemoved(entry));
+        assertEquals(Tiles.BLANK, MoveJournal.replacedTile(entry));
+    }
+
+    @Test
+    public void record_afterUndo_dropsMovesToRedo() {
+        MoveJournal journal = new MoveJournal();
+        for (long entry = 1; entry <= 40; entry++) {
+            journal.record(entry);
+        }
+        assertEquals(40, journal.getSize());
+        assertEquals(40, journal.undo());
+        assertEquals(39, journal.undo());
+        assertEquals(38, journal.getPosition());
+        assertTrue(journal.canRedo());
+        assertEquals(39, journal.redo());
+
+        journal.record(100);
+        assertFalse(journal.canRedo());
+        assertEquals(40, journal.getSize());
+        assertEquals(100, journal.getEntry(39));
+        assertEquals(38, journal.getEntry(37));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void undo_emptyJournal_isRejected() {
+        new MoveJournal().undo();
+    }
+
+    @Test
+    public void undoLastMove_restoresOnlyTheSquareJustLeft() {
+        // The original single-step revert rebuilt the square from the layout, so check an earlier
+        // blank stays blank when a later move is undone
+        Game game = new Game();
+        game.addLevel("Row", new int[][] {{1, 1, 1, 1}});
+        game.addGoal(0, 3);
+        game.addEyeball(0, 0, Direction.RIGHT);
+        game.moveTo(0, 1);
+        game.moveTo(0, 2);
+        game.moveTo(0, 3);
+        assertEquals(1, game.getCompletedGoalCount());
+
+        game.undoLastMove();
+        assertEquals(2, game.getEyeballColumn());
+        assertTrue(game.hasGoalAt(0, 3));
+        assertEquals(0, game.getCompletedGoalCount());
+        game.undoLastMove();
+        assertEquals(Color.BLANK, game.getColorAt(0, 0));
+        assertEquals(Color.BLUE, game.getColorAt(0, 1));
+        assertEquals(Color.BLUE, game.getColorAt(0, 2));
+        assertEquals(1, game.getEyeballColumn());
+        assertEquals(Direction.RIGHT, game.getEyeballDirection());
+    }
+
+    @Test
+    public void undoAllThenRedoAll_returnsToEachState() {
+        for (long seed = 0; seed < 200; seed++) {
+            Random random = new Random(seed);
+            Game game = new Game();
+            GameFixtures.addRandomLevel(game, random);
+            int[] targets = new int[game.getLevelHeight() + game.getLevelWidth()];
+            String[] states = new String[31];
+            states[0] = GameFixtures.describe(game);
+            int moves = 0;
+            while (moves < 30) {
+                int count = game.legalMoves(targets);
+                if (count == 0) {
+                    break;
+                }
+                int target = targets[random.nextInt(count)];
+                game.moveTo(Cells.row(target, game.getLevelWidth()), Cells.column(target, game.getLevelWidth()));
+                states[++moves] = GameFixtures.describe(game);
+            }
+
+            for (int move = moves; move > 0; move--) {
+                game.undoLastMove();
+                assertEquals("seed " + seed + " undo to " + (move - 1), withoutJournal(states[move - 1]), withoutJournal(GameFixtures.describe(game)));
+            }
+            assertFalse(game.canUndo());
+            for (int move = 1; move <= moves; move++) {
+                game.redoLastMove();
+                assertEquals("seed " + seed + " redo to " + move, withoutJournal(states[move]), withoutJournal(GameFixtures.describe(game)));
+            }
+            assertFalse(game.canRedo());
+        }
+    }
+
+    // The description without its undo and redo flags, which differ between a state reached by
+    // moving and the same state reached by undo
+    private static String withoutJournal(String description) {
+        return description.replaceAll("(moves \\d+)(true|false)(true|false)", "$1");
+    }
+}
@@ -0,0 +1,75 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PersistentCellsTest {
+
+    // Around the 64-byte leaf and the 32-way branch boundaries, so partial leaves and branches are covered
+    private static final int[] SIZES = {1, 2, 63, 64, 65, 100, 64 * 32 - 1, 64 * 32, 64 * 32 + 1, 64 * 32 * 32 + 7};
+
+    @Test
+    public void of_anySize_readsBackEveryCell() {
+        for (int size : SIZES) {
+            byte[] cells = randomCells(size, new Random(size));
+            PersistentCells vector = PersistentCells.of(cells);
+            assertEquals(size, vector.size());
+            for (int i = 0; i < size; i++) {
+                assertEquals("size " + size + " index " + i, cells[i], vector.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void set_leavesOldVectorUnchanged() {
+        for (int size : SIZES) {
+            Random random = new Random(size);
+            byte[] expected = randomCells(size, random);
+            PersistentCells vector = PersistentCells.of(expected);
+            for (int change = 0; change < 20; change++) {
+                int index = random.nextInt(size);
+                byte value = (byte) (64 + random.nextInt(64));
+                PersistentCells changed = vector.set(index, value);
+
+                for (int i = 0; i < size; i++) {
+                    assertEquals(expected[i], vector.get(i));
+                }
+                expected[index] = value;
+                for (int i = 0; i < size; i++) {
+                    assertEquals(expected[i], changed.get(i));
+                }
+                vector = changed;
+            }
+        }
+    }
+
+    @Test
+    public void set_sharesLeavesOffTheChangedPath() {
+        PersistentCells vector = PersistentCells.of(new byte[64 * 32 * 3 + 10]);
+        PersistentCells changed = vector.set(64 * 40 + 5, 9);
+
+        assertNotSame(vector.leafOf(64 * 40), changed.leafOf(64 * 40));
+        for (int index = 0; index < vector.size(); index += 64) {
+            if (index != 64 * 40) {
+                assertSame("leaf at " + index, vector.leafOf(index), changed.leafOf(index));
+            }
+        }
+    }
+
+    @Test
+    public void set_sameValue_returnsSameVector() {
+        PersistentCells vector = PersistentCells.of(new byte[] {1, 2, 3});
+        assertSame(vector, vector.set(1, 2));
+    }
+
+    private static byte[] randomCells(int size, Random random) {
+        byte[] cells = new byte[size];
+        for (int i = 0; i < size; i++) {
+            cells[i] = (byte) random.nextInt(64);
+        }
+        return cells;
+    }
+}
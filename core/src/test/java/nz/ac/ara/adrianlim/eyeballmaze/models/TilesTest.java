@@ -0,0 +1,51 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import org.junit.Test;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Color;
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Shape;
+
+import static org.junit.Assert.*;
+
+public class TilesTest {
+
+    @Test
+    public void originalCodes_matchLayoutValues() {
+        assertEquals(17, Tiles.COUNT);
+        assertEquals(1, Tiles.codeOf(Color.BLUE, Shape.CROSS));
+        assertEquals(4, Tiles.codeOf(Color.YELLOW, Shape.CROSS));
+        assertEquals(5, Tiles.codeOf(Color.BLUE, Shape.DIAMOND));
+        assertEquals(16, Tiles.codeOf(Color.YELLOW, Shape.STAR));
+        assertSame(Tiles.squareOf(9), Tiles.squareOf(Tiles.codeOf(Color.BLUE, Shape.FLOWER)));
+        assertSame(BlankSquare.INSTANCE, Tiles.squareOf(Tiles.BLANK));
+    }
+
+    @Test
+    public void layoutCodesAbove16_loadAsBlank() {
+        Game game = new Game();
+        game.addLevel("Reserved", new int[][] {{1, 17, 25, 26, 5}});
+        game.addEyeball(0, 0, Direction.RIGHT);
+
+        for (int col = 1; col < 4; col++) {
+            assertEquals(Color.BLANK, game.getColorAt(0, col));
+            assertFalse(game.canMoveTo(0, col));
+        }
+        // The blanks cut the eyeball off from the blue diamond at the end of the row
+        assertFalse(game.canMoveTo(0, 4));
+    }
+
+    @Test
+    public void reservedTiles_areOutOfPlay() {
+        assertFalse(Tiles.isValid(17));
+        assertFalse(Tiles.isValid(Tiles.REGISTERED_COUNT - 1));
+        for (Color color : new Color[] {Color.BLUE, Color.PURPLE}) {
+            try {
+                Tiles.codeOf(color, color == Color.PURPLE ? Shape.CROSS : Shape.LIGHTNING);
+                fail(color + " tile was given a code in play");
+            } catch (IllegalArgumentException expected) {
+                assertEquals("Unsupported square", expected.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TranspositionTableTest {
+
+    // With a capacity of 4 there are two buckets, and these hashes all land in the first
+    private static final long A = 0;
+    private static final long B = 2;
+    private static final long C = 4;
+    private static final long D = 6;
+
+    @Test
+    public void get_missingHash_isNotFound() {
+        TranspositionTable table = new TranspositionTable(4);
+        assertEquals(TranspositionTable.NOT_FOUND, table.get(A));
+        assertEquals(-1, table.getDepth(A));
+        assertFalse(table.contains(A));
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    public void put_sameHashTwice_updatesInPlace() {
+        TranspositionTable table = new TranspositionTable(4);
+        table.put(A, 10, 3);
+        table.put(A, 11, 1);
+        assertEquals(11, table.get(A));
+        assertEquals(1, table.getDepth(A));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    public void put_fullBucket_keepsDeepestAndReplacesTheOther() {
+        TranspositionTable table = new TranspositionTable(4);
+        table.put(A, 1, 5);
+        table.put(B, 2, 3);
+        // Shallower than A, so it takes the always-replace slot from B
+        table.put(C, 3, 1);
+        assertEquals(1, table.get(A));
+        assertFalse(table.contains(B));
+        assertEquals(3, table.get(C));
+
+        // Deeper than A, so A moves to the always-replace slot and C is lost
+        table.put(D, 4, 7);
+        assertEquals(4, table.get(D));
+        assertEquals(7, table.getDepth(D));
+        assertEquals(1, table.get(A));
+        assertEquals(5, table.getDepth(A));
+        assertFalse(table.contains(C));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    public void put_otherBucket_doesNotEvict() {
+        TranspositionTable table = new TranspositionTable(4);
+        table.put(A, 1, 0);
+        table.put(B, 2, 0);
+        table.put(1, 3, 0);
+        table.put(3, 4, 0);
+        assertEquals(1, table.get(A));
+        assertEquals(2, table.get(B));
+        assertEquals(3, table.get(1));
+        assertEquals(4, table.get(3));
+        assertEquals(4, table.size());
+    }
+
+    @Test
+    public void capacity_isRoundedUpToPowerOfTwo() {
+        assertEquals(4, new TranspositionTable(4).capacity());
+        assertEquals(8, new TranspositionTable(5).capacity());
+        assertEquals(1024, new TranspositionTable(1000).capacity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_tooSmall_isRejected() {
+        new TranspositionTable(1);
+    }
+
+    @Test
+    public void clear_emptiesTable() {
+        TranspositionTable table = new TranspositionTable(8);
+        table.put(A, 1, 0);
+        table.put(5, 2, 0);
+        table.clear();
+        assertEquals(0, table.size());
+        assertFalse(table.contains(A));
+        assertEquals(TranspositionTable.NOT_FOUND, table.get(5));
+    }
+}
@@ -0,0 +1,120 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Color;
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Shape;
+
+import static org.junit.Assert.*;
+
+public class WinnabilityAnalysisTest {
+
+    @Test
+    public void isWinnable_whenMoveCutsOffGoal_isLost() {
+        int flower = Tiles.codeOf(Color.GREEN, Shape.FLOWER);
+        Game game = new Game();
+        game.addLevel("Cut", new int[][] {
+                {Tiles.codeOf(Color.RED, Shape.CROSS), Tiles.codeOf(Color.RED, Shape.STAR), Tiles.codeOf(Color.BLUE, Shape.STAR)},
+                {flower, flower, Tiles.codeOf(Color.BLUE, Shape.DIAMOND)}});
+        game.addGoal(0, 0);
+        game.addEyeball(0, 1, Direction.RIGHT);
+        assertTrue(game.isWinnable());
+
+        // Leaving the red star blanks the only square joining the goal to the rest
+        game.moveTo(0, 2);
+        assertTrue(game.hasLegalMoves());
+        assertFalse(game.isWinnable());
+
+        game.undoLastMove();
+        assertTrue(game.isWinnable());
+        game.redoLastMove();
+        assertFalse(game.isWinnable());
+    }
+
+    @Test
+    public void isWinnable_goalWalledInByBlanks_isLostFromTheStart() {
+        // The goal's only neighbours are blank, though the eyeball can still move down
+        Game game = new Game();
+        game.addLevel("Walled", new int[][] {{1, 0, 5}, {1, 6, 0}});
+        game.addGoal(0, 2);
+        game.addEyeball(0, 0, Direction.RIGHT);
+
+        assertTrue(game.hasLegalMoves());
+        assertFalse(game.isWinnable());
+    }
+
+    @Test
+    public void isWinnable_goalUnderEyeball_dependsOnBeingAbleToLeave() {
+        Game game = new Game();
+        game.addLevel("Start", new int[][] {{1, 5}});
+        game.addGoal(0, 0);
+        game.addEyeball(0, 0, Direction.RIGHT);
+        assertTrue(game.isWinnable());
+
+        // Facing left there is no move off the goal square
+        game.addEyeball(0, 0, Direction.LEFT);
+        assertFalse(game.hasLegalMoves());
+        assertFalse(game.isWinnable());
+    }
+
+    @Test
+    public void isWinnable_noGoals_isWonWithoutMoves() {
+        Game game = new Game();
+        game.addLevel("Empty", new int[][] {{1, 6}});
+        game.addEyeball(0, 0, Direction.RIGHT);
+        assertFalse(game.hasLegalMoves());
+        assertTrue(game.isWinnable());
+    }
+
+    @Test
+    public void isWinnable_ignoresFacing_soGoalOnlyReachableBackwardsIsReportedLate() {
+        // Blue diamond, blue cross, blue flower. Facing left the goal on the right can never be
+        // reached, but the relaxed game lets the eyeball turn, so the level is not called lost yet.
+        Game game = new Game();
+        game.addLevel("Backwards", new int[][] {{5, 1, 9}});
+        game.addGoal(0, 2);
+        game.addEyeball(0, 1, Direction.LEFT);
+        assertTrue(game.isWinnable());
+
+        // Once the cross is blank the goal is cut off for good
+        game.moveTo(0, 0);
+        assertFalse(game.isWinnable());
+    }
+
+    @Test
+    public void isWinnable_afterEachMove_matchesFullSearch() {
+        for (long seed = 0; seed < 300; seed++) {
+            Random random = new Random(seed);
+            Game game = new Game();
+            GameFixtures.addRandomLevel(game, random);
+            int[] targets = new int[game.getLevelHeight() + game.getLevelWidth()];
+            for (int move = 0; move < 40; move++) {
+                // Skipping some checks leaves gaps the analysis cannot carry its last search over
+                if (random.nextInt(5) != 0) {
+                    assertEquals("seed " + seed + " move " + move, fullSearch(game), game.isWinnable());
+                }
+                int count = game.legalMoves(targets);
+                if (count == 0) {
+                    break;
+                }
+                int target = targets[random.nextInt(count)];
+                game.moveTo(Cells.row(target, game.getLevelWidth()), Cells.column(target, game.getLevelWidth()));
+                if (random.nextInt(6) == 0) {
+                    game.undoLastMove();
+                    if (random.nextBoolean()) {
+                        game.redoLastMove();
+                    }
+                }
+            }
+        }
+    }
+
+    // Verdict of a new analysis, which has no earlier search to build on
+    private static boolean fullSearch(Game game) {
+        Eyeball eyeball = new Eyeball(game.getEyeballRow(), game.getEyeballColumn(), game.getEyeballDirection());
+        return new WinnabilityAnalysis().isWinnable(game.copyCurrentLevel(), eyeball, 0, game.hasLegalMoves());
+    }
+}
@@ -0,0 +1,111 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+
+import static org.junit.Assert.*;
+
+public class ZobristTest {
+
+    @Test
+    public void keys_areDistinctAcrossKindsAndCells() {
+        Set<Long> keys = new HashSet<>();
+        for (int cell = 0; cell < 1000; cell++) {
+            keys.add(Zobrist.blank(cell));
+            keys.add(Zobrist.goal(cell));
+            keys.add(Zobrist.eyeball(cell));
+            keys.add(Zobrist.tile(cell, 1));
+            keys.add(Zobrist.tile(cell, 25));
+        }
+        for (int direction = 0; direction < 4; direction++) {
+            keys.add(Zobrist.direction(direction));
+        }
+        assertEquals(5 * 1000 + 4, keys.size());
+        assertEquals(0, Zobrist.tile(7, Tiles.BLANK));
+        assertEquals(Zobrist.goal(42), Zobrist.goal(42));
+    }
+
+    @Test
+    public void stateHash_afterMoves_matchesHashFromScratch() {
+        Game game = new Game();
+        game.addLevel("Row", new int[][] {{1, 5, 9, 0, 2}, {13, 1, 1, 6, 1}});
+        game.addGoal(0, 2);
+        game.addGoal(1, 4);
+        game.addEyeball(0, 0, Direction.RIGHT);
+
+        game.moveTo(0, 1);
+        assertEquals(fromScratch(game), game.getStateHash());
+        game.moveTo(0, 2);
+        assertEquals(fromScratch(game), game.getStateHash());
+        assertEquals(1, game.getCompletedGoalCount());
+        game.moveTo(1, 2);
+        assertEquals(fromScratch(game), game.getStateHash());
+    }
+
+    @Test
+    public void stateHash_afterRandomMovesAndReverts_matchesHashFromScratch() {
+        for (long seed = 0; seed < 200; seed++) {
+            Random random = new Random(seed);
+            Game game = new Game();
+            GameFixtures.addRandomLevel(game, random);
+            List<Long> hashes = new ArrayList<>();
+            hashes.add(game.getStateHash());
+            int[] targets = new int[game.getLevelHeight() + game.getLevelWidth()];
+            for (int move = 0; move < 20; move++) {
+                int count = game.legalMoves(targets);
+                if (count == 0) {
+                    break;
+                }
+                int target = targets[random.nextInt(count)];
+                game.moveTo(Cells.row(target, game.getLevelWidth()), Cells.column(target, game.getLevelWidth()));
+                assertEquals(fromScratch(game), game.getStateHash());
+                hashes.add(game.getStateHash());
+            }
+            // Reverting a move XORs the same keys out again
+            for (int position = hashes.size() - 1; position > 0; position--) {
+                game.undoLastMove();
+                assertEquals(hashes.get(position - 1).longValue(), game.getStateHash());
+            }
+        }
+    }
+
+    @Test
+    public void levelHash_changesWithTilesAndSizeButNotMoves() {
+        Game game = new Game();
+        game.addLevel("Row", new int[][] {{1, 1, 1}});
+        game.addEyeball(0, 0, Direction.RIGHT);
+        long start = game.getLevelHash();
+        game.moveTo(0, 1);
+        assertEquals(start, game.getLevelHash());
+
+        Game other = new Game();
+        other.addLevel("Row", new int[][] {{1, 1, 2}});
+        assertNotEquals(start, other.getLevelHash());
+        other.addLevel("Column", new int[][] {{1}, {1}, {1}});
+        assertNotEquals(start, other.getLevelHash());
+    }
+
+    // Hash of a new level holding the game's current blanks, goals and eyeball
+    private static long fromScratch(Game game) {
+        int[][] layout = new int[game.getLevelHeight()][game.getLevelWidth()];
+        for (int row = 0; row < layout.length; row++) {
+            for (int col = 0; col < layout[row].length; col++) {
+                layout[row][col] = Tiles.codeOf(game.getColorAt(row, col), game.getShapeAt(row, col));
+            }
+        }
+        Game fresh = new Game();
+        fresh.addLevel("Fresh", layout);
+        for (int cell = game.findNextGoal(0); cell >= 0; cell = game.findNextGoal(cell + 1)) {
+            fresh.addGoal(Cells.row(cell, layout[0].length), Cells.column(cell, layout[0].length));
+        }
+        fresh.addEyeball(game.getEyeballRow(), game.getEyeballColumn(), game.getEyeballDirection());
+        return fresh.getStateHash();
+    }
+}
@@ -0,0 +1,90 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models.generator;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import nz.ac.ara.adrianlim.eyeballmaze.models.Game;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Tiles;
+import nz.ac.ara.adrianlim.eyeballmaze.models.solver.LevelSolver;
+import nz.ac.ara.adrianlim.eyeballmaze.models.solver.SolverResult;
+
+import static org.junit.Assert.*;
+
+public class LevelGeneratorTest {
+
+    @Test
+    public void generate_sameSeed_givesSameLevelsWhateverTheThreadCount() {
+        LevelGenerator generator = new LevelGenerator(4, 4, 0.8, 2, 3);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            GeneratedLevel[] first = generator.generate(42, 12, single);
+            GeneratedLevel[] second = generator.generate(42, 12, several);
+            for (int index = 0; index < first.length; index++) {
+                assertEquals("level " + index, describe(first[index]), describe(second[index]));
+                assertEquals(describe(first[index]), describe(generator.generateLevel(42, index)));
+            }
+            assertNotEquals(describe(first[0]), describe(generator.generateLevel(43, 0)));
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+
+    @Test
+    public void generate_levelsAreSolvableInTheRecordedMovesAndNoFewerThanTarget() {
+        GeneratedLevel[] levels = new LevelGenerator(4, 5, 0.8, 2, 3).generate(7, 10);
+        for (GeneratedLevel generated : levels) {
+            assertTrue(generated.getSolutionLength() >= 3);
+            assertNotEquals(Tiles.BLANK, generated.getSquareAt(generated.getEyeballRow(), generated.getEyeballColumn()));
+            for (int goal = 0; goal < generated.getGoalCount(); goal++) {
+                assertNotEquals(Tiles.BLANK, generated.getSquareAt(generated.getGoalRow(goal), generated.getGoalColumn(goal)));
+            }
+
+            // Play the solver's answer through the Game API
+            Game game = new Game();
+            generated.addTo(game);
+            SolverResult result = new LevelSolver(game.copyCurrentLevel())
+                    .solve(game.getEyeballRow(), game.getEyeballColumn(), game.getEyeballDirection());
+            assertEquals(generated.getSolutionLength(), result.getMoveCount());
+            for (int move = 0; move < result.getMoveCount(); move++) {
+                game.moveTo(result.getMoveRow(move), result.getMoveColumn(move));
+            }
+            assertEquals(0, game.getGoalCount());
+        }
+    }
+
+    @Test
+    public void generateLevel_targetOutOfReach_givesUpAfterMaxAttempts() {
+        LevelGenerator generator = new LevelGenerator(2, 2, 1, 1, 10);
+        generator.setMaxAttempts(5);
+        try {
+            generator.generateLevel(1, 0);
+            fail("Level longer than a 2x2 board allows was generated");
+        } catch (IllegalStateException expected) {
+            assertEquals("Could not generate a solvable level in 5 attempts", expected.getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_goalsFillingTheBoard_isRejected() {
+        new LevelGenerator(2, 2, 1, 4, 1);
+    }
+
+    private static String describe(GeneratedLevel level) {
+        StringBuilder description = new StringBuilder(level.getLevelName()).append(':');
+        for (int row = 0; row < level.getHeight(); row++) {
+            for (int col = 0; col < level.getWidth(); col++) {
+                description.append(level.getSquareAt(row, col)).append(',');
+            }
+        }
+        for (int goal = 0; goal < level.getGoalCount(); goal++) {
+            description.append(" goal ").append(level.getGoalRow(goal)).append(',').append(level.getGoalColumn(goal));
+        }
+        return description.append(" eyeball ").append(level.getEyeballRow()).append(',').append(level.getEyeballColumn())
+                .append(' ').append(level.getEyeballDirection())
+                .append(" solution ").append(level.getSolutionLength())
+                .toString();
+    }
+}
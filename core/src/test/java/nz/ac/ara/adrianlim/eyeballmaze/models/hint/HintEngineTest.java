@@ -0,0 +1,141 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models.hint;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Game;
+
+import static org.junit.Assert.*;
+
+public class HintEngineTest {
+
+    private final BlockingQueue<Hint> hints = new LinkedBlockingQueue<>();
+    private final HintEngine.Listener listener = new HintEngine.Listener() {
+        @Override
+        public void onHint(Hint hint) {
+            hints.add(hint);
+        }
+    };
+    private HintEngine engine;
+
+    @Before
+    public void setUp() {
+        // Results are delivered on the worker thread and picked up from the queue
+        engine = new HintEngine(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    public void requestHint_solvableLevel_deliversFirstMoveAndCachesIt() throws InterruptedException {
+        Game game = createGame(new int[][] {{1, 1, 1}, {6, 6, 6}, {6, 6, 6}});
+        engine.requestHint(game, listener);
+        Hint hint = hints.poll(10, TimeUnit.SECONDS);
+        assertNotNull(hint);
+        assertTrue(hint.isComplete());
+        assertTrue(hint.isAvailable());
+        assertEquals(0, hint.getRow());
+        assertEquals(2, hint.getColumn());
+
+        Hint cached = engine.getCachedHint(game);
+        assertNotNull(cached);
+        assertEquals(2, cached.getColumn());
+    }
+
+    @Test
+    public void requestHint_goalRoundACorner_pointsAtTheTurnThenTheGoal() throws InterruptedException {
+        // Blue cross and green diamond on top, green cross and green star below. The goal is diagonal
+        // from the eyeball, and the only way there is down to the green cross first.
+        Game game = new Game();
+        game.addLevel("Corner", new int[][] {{1, 6}, {2, 14}});
+        game.addGoal(1, 1);
+        game.addEyeball(0, 0, Direction.RIGHT);
+
+        engine.requestHint(game, listener);
+        Hint hint = hints.poll(10, TimeUnit.SECONDS);
+        assertNotNull(hint);
+        assertTrue(hint.isAvailable());
+        assertEquals(1, hint.getRow());
+        assertEquals(0, hint.getColumn());
+        assertEquals(2, hint.getRemainingMoves());
+        assertEquals(game.getStateHash(), hint.getStateHash());
+
+        // The search cached the next move along its solution, so this one needs no search
+        game.moveTo(1, 0);
+        Hint next = engine.getCachedHint(game);
+        assertNotNull(next);
+        assertEquals(1, next.getRow());
+        assertEquals(1, next.getColumn());
+        assertEquals(1, next.getRemainingMoves());
+    }
+
+    @Test
+    public void getCachedHint_otherLevelWithSameStateHash_isNotReturned() throws InterruptedException {
+        Game solvable = createGame(new int[][] {{1, 1, 1}, {6, 6, 6}, {6, 6, 6}});
+        Game unsolvable = createGame(new int[][] {{1, 6, 6}, {6, 6, 6}, {6, 6, 6}});
+        assertEquals(solvable.getStateHash(), unsolvable.getStateHash());
+
+        engine.requestHint(solvable, listener);
+        assertNotNull(hints.poll(10, TimeUnit.SECONDS));
+        assertNull(engine.getCachedHint(unsolvable));
+
+        engine.requestHint(unsolvable, listener);
+        Hint hint = hints.poll(10, TimeUnit.SECONDS);
+        assertNotNull(hint);
+        assertTrue(hint.isComplete());
+        assertFalse(hint.isAvailable());
+    }
+
+    @Test
+    public void requestHint_outOfTime_deliversIncompleteHint() throws InterruptedException {
+        int size = 40;
+        Random random = new Random(1);
+        int[][] layout = new int[size][size];
+        for (int[] row : layout) {
+            for (int col = 0; col < size; col++) {
+                row[col] = 1 + random.nextInt(16);
+            }
+        }
+        Game game = new Game();
+        game.addLevel("Big", layout);
+        for (int goal = 0; goal < 5; goal++) {
+            game.addGoal(random.nextInt(size), random.nextInt(size));
+        }
+        game.addEyeball(0, 0, Direction.DOWN);
+
+        engine.setTimeLimit(50, TimeUnit.MILLISECONDS);
+        long start = System.nanoTime();
+        engine.requestHint(game, listener);
+        Hint hint = hints.poll(10, TimeUnit.SECONDS);
+        assertNotNull(hint);
+        assertFalse(hint.isComplete());
+        assertFalse(hint.isAvailable());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        // Nothing is cached for a search that gave up
+        assertNull(engine.getCachedHint(game));
+    }
+
+    private static Game createGame(int[][] layout) {
+        Game game = new Game();
+        game.addLevel("Hint", layout);
+        game.addGoal(0, 2);
+        game.addEyeball(0, 0, Direction.RIGHT);
+        return game;
+    }
+}
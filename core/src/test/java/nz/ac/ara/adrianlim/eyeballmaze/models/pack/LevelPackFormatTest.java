@@ -0,0 +1,49 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models.pack;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class LevelPackFormatTest {
+
+    @Test
+    public void encodeTiles_originalTiles_packsBlankBitmapThenNibbles() {
+        byte[] codes = {0, 1, 16, 0, 7};
+        assertEquals(LevelPackFormat.TILES_4_BIT, LevelPackFormat.chooseTileEncoding(codes));
+
+        byte[] out = new byte[LevelPackFormat.tileBytes(LevelPackFormat.TILES_4_BIT, codes.length)];
+        assertEquals(4, LevelPackFormat.encodeTiles(codes, LevelPackFormat.TILES_4_BIT, out, 0));
+        // Blanks at cells 0 and 3, then code - 1 two squares to a byte, low nibble first
+        assertArrayEquals(new byte[] {0b1001, 0x00, 0x0F, 0x06}, out);
+    }
+
+    @Test
+    public void decodeTiles_roundTripsBothEncodings() {
+        byte[] nibbleCodes = {3, 0, 16, 1, 0, 0, 9, 12, 2};
+        byte[] byteCodes = {3, 0, 25, 1, 17};
+        assertEquals(LevelPackFormat.TILES_8_BIT, LevelPackFormat.chooseTileEncoding(byteCodes));
+        for (byte[] codes : new byte[][] {nibbleCodes, byteCodes}) {
+            int encoding = LevelPackFormat.chooseTileEncoding(codes);
+            // Encoded after two bytes of something else, as inside a level record
+            byte[] out = new byte[2 + LevelPackFormat.tileBytes(encoding, codes.length)];
+            int end = LevelPackFormat.encodeTiles(codes, encoding, out, 2);
+            assertEquals(out.length, end);
+
+            byte[] decoded = new byte[codes.length];
+            assertEquals(end, LevelPackFormat.decodeTiles(ByteBuffer.wrap(out), 2, encoding, decoded));
+            assertArrayEquals(codes, decoded);
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void decodeTiles_pastEndOfBuffer_throws() {
+        LevelPackFormat.decodeTiles(ByteBuffer.allocate(3), 0, LevelPackFormat.TILES_4_BIT, new byte[9]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decodeTiles_unknownEncoding_throws() {
+        LevelPackFormat.decodeTiles(ByteBuffer.allocate(16), 0, 5, new byte[4]);
+    }
+}
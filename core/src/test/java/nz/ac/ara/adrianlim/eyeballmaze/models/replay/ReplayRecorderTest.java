@@ -0,0 +1,179 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models.replay;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Cells;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Game;
+import nz.ac.ara.adrianlim.eyeballmaze.models.GameSnapshot;
+
+import static org.junit.Assert.*;
+
+public class ReplayRecorderTest {
+
+    private static final int SIZE = 12;
+
+    private final ReplayEngine engine = new ReplayEngine();
+
+    @Test
+    public void handBuiltSession_recordsKnownTokens_andReplays() {
+        Game game = createCorridor();
+        long startHash = game.getStateHash();
+        ReplayRecorder recorder = new ReplayRecorder(game);
+        game.moveTo(0, 17);
+        game.undoLastMove();
+        game.redoLastMove();
+        game.moveTo(1, 17);
+        game.restartLevel();
+        game.moveTo(1, 0);
+
+        MoveLog log = recorder.getLog();
+        assertEquals(6, log.getEventCount());
+        assertEquals(startHash, log.getStartHash());
+        assertEquals(game.getStateHash(), log.getEndHash());
+        byte[] bytes = log.toBytes();
+        // Right 17 completing the goal is 4 + (16 << 3 | 4 | 3) = 139, two varint bytes. Then undo,
+        // redo, down 1 (4 + 1), restart and down 1 again.
+        byte[] tokens = {(byte) 0x8B, 0x01, 0x00, 0x01, 0x05, 0x02, 0x05};
+        assertArrayEquals(tokens, Arrays.copyOfRange(bytes, 36, bytes.length));
+
+        ReplayResult result = engine.replay(createCorridor(), MoveLog.fromBytes(bytes));
+        assertTrue(result.getFailure(), result.isValid());
+        assertEquals(6, result.getEventsReplayed());
+        assertEquals(game.getStateHash(), result.getFinalHash());
+
+        // Left 1 from the end of the top row is backwards for an eyeball facing right
+        bytes[36 + 4] = 4 + 2;
+        result = engine.replay(createCorridor(), MoveLog.fromBytes(bytes));
+        assertFalse(result.isValid());
+        assertEquals(3, result.getFailedEvent());
+    }
+
+    @Test
+    public void recordedSession_roundTripsThroughBytes_andReplays() {
+        for (long seed = 0; seed < 50; seed++) {
+            Game game = createGame(seed);
+            ReplayRecorder recorder = new ReplayRecorder(game);
+            play(game, new Random(seed), 40);
+            recorder.stop();
+
+            MoveLog log = MoveLog.fromBytes(recorder.getLog().toBytes());
+            ReplayResult result = engine.replay(createGame(seed), log);
+            assertTrue(result.getFailure(), result.isValid());
+            assertEquals(game.getStateHash(), result.getFinalHash());
+        }
+    }
+
+    @Test
+    public void logStartedMidGame_replaysFromLevelStart() {
+        Game game = createGame(7);
+        Random random = new Random(7);
+        play(game, random, 10);
+        assertTrue(game.getMoveHistorySize() > 0);
+        ReplayRecorder recorder = new ReplayRecorder(game);
+        play(game, random, 10);
+
+        MoveLog log = recorder.getLog();
+        assertEquals(game.getCurrentLevelIndex(), log.getLevelIndex());
+        ReplayResult result = engine.replay(createGame(7), MoveLog.fromBytes(log.toBytes()));
+        assertTrue(result.getFailure(), result.isValid());
+        assertEquals(game.getStateHash(), result.getFinalHash());
+    }
+
+    @Test
+    public void logStartedAfterSnapshotRestore_replaysWithRedoableMoves() {
+        Game game = createGame(11);
+        play(game, new Random(11), 15);
+        while (game.getMoveCount() < 3 && game.canRedo()) {
+            game.redoLastMove();
+        }
+        if (game.canUndo()) {
+            game.undoLastMove();
+        }
+        byte[] snapshot = GameSnapshot.write(game, 0, 0);
+
+        Game restored = createGame(11);
+        GameSnapshot.restore(restored, snapshot);
+        ReplayRecorder recorder = new ReplayRecorder(restored);
+
+        Game replayed = createGame(11);
+        ReplayResult result = engine.replay(replayed, recorder.getLog());
+        assertTrue(result.getFailure(), result.isValid());
+        assertEquals(game.getStateHash(), result.getFinalHash());
+        assertEquals(game.getMoveCount(), replayed.getMoveCount());
+        assertEquals(game.canRedo(), replayed.canRedo());
+    }
+
+    @Test
+    public void replay_endHashDiffers_reportsLastEvent() {
+        Game game = createGame(3);
+        ReplayRecorder recorder = new ReplayRecorder(game);
+        play(game, new Random(3), 5);
+        byte[] bytes = recorder.getLog().toBytes();
+        // End hash follows magic, version, reserved, level index and start hash
+        ByteBuffer.wrap(bytes).putLong(20, ~recorder.getLog().getEndHash());
+
+        MoveLog log = MoveLog.fromBytes(bytes);
+        ReplayResult result = engine.replay(createGame(3), log);
+        assertFalse(result.isValid());
+        assertEquals(log.getEventCount() - 1, result.getFailedEvent());
+    }
+
+    // Two rows of 18 blue crosses with a goal at the end of the top row
+    private static Game createCorridor() {
+        int[][] layout = new int[2][18];
+        for (int[] row : layout) {
+            Arrays.fill(row, 1);
+        }
+        Game game = new Game();
+        game.addLevel("Corridor", layout);
+        game.addGoal(0, 17);
+        game.addEyeball(0, 0, Direction.RIGHT);
+        return game;
+    }
+
+    private static Game createGame(long seed) {
+        Random random = new Random(seed);
+        int[][] layout = new int[SIZE][SIZE];
+        for (int[] row : layout) {
+            for (int col = 0; col < SIZE; col++) {
+                row[col] = random.nextInt(8) == 0 ? 0 : 1 + random.nextInt(16);
+            }
+        }
+        layout[0][0] = 1;
+        Game game = new Game();
+        game.addLevel("Replay " + seed, layout);
+        game.addGoal(SIZE - 1, SIZE - 1);
+        game.addEyeball(0, 0, Direction.DOWN);
+        return game;
+    }
+
+    // Random moves with the odd undo, redo and restart
+    private static void play(Game game, Random random, int steps) {
+        int[] moves = new int[game.getLevelHeight() + game.getLevelWidth()];
+        for (int step = 0; step < steps; step++) {
+            int action = random.nextInt(10);
+            if (action == 0 && game.canUndo()) {
+                game.undoLastMove();
+            } else if (action == 1 && game.canRedo()) {
+                game.redoLastMove();
+            } else if (action == 2 && step % 7 == 0) {
+                game.restartLevel();
+            } else {
+                int count = game.legalMoves(moves);
+                if (count == 0) {
+                    if (game.canUndo()) {
+                        game.undoLastMove();
+                    }
+                    continue;
+                }
+                int move = moves[random.nextInt(count)];
+                game.moveTo(Cells.row(move, game.getLevelWidth()), Cells.column(move, game.getLevelWidth()));
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package nz.ac.ara.adrianlim.eyeballmaze.models.solver;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Cells;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Game;
+import nz.ac.ara.adrianlim.eyeballmaze.models.Level;
+
+import static org.junit.Assert.*;
+
+public class LevelSolverTest {
+
+    @Test
+    public void solve_levelNeedingATurn_findsTheTwoMoveSolution() {
+        // Blue cross and green diamond on top, green cross and green star below. The goal is diagonal
+        // from the eyeball, which can only reach it through the green cross.
+        Level level = new Level("Turn", new int[][] {{1, 6}, {2, 14}});
+        level.addGoal(1, 1);
+
+        SolverResult result = new LevelSolver(level).solve(0, 0, Direction.RIGHT);
+
+        assertTrue(result.isSolvable());
+        assertTrue(result.isComplete());
+        assertArrayEquals(new int[] {Cells.pack(1, 0, 2), Cells.pack(1, 1, 2)}, result.getMoves());
+        assertEquals(1, result.getMoveRow(0));
+        assertEquals(0, result.getMoveColumn(0));
+    }
+
+    @Test
+    public void solve_goalOnlyReachableBackwards_isUnsolvable() {
+        // Blue diamond, blue cross, blue flower. Facing left, the eyeball can only go left and then
+        // never turn back to the goal on the right.
+        int[][] layout = {{5, 1, 9}};
+        Level level = new Level("Backwards", layout);
+        level.addGoal(0, 2);
+
+        SolverResult facingLeft = new LevelSolver(level).solve(0, 1, Direction.LEFT);
+        assertFalse(facingLeft.isSolvable());
+        assertTrue(facingLeft.isComplete());
+
+        SolverResult facingRight = new LevelSolver(level).solve(0, 1, Direction.RIGHT);
+        assertTrue(facingRight.isSolvable());
+        assertEquals(1, facingRight.getMoveCount());
+    }
+
+    @Test
+    public void solve_goalBehindBlank_isUnsolvable() {
+        Level level = new Level("Blocked", new int[][] {{1, 0, 1}});
+        level.addGoal(0, 2);
+
+        SolverResult result = new LevelSolver(level).solve(0, 0, Direction.RIGHT);
+
+        assertFalse(result.isSolvable());
+        assertTrue(result.isComplete());
+    }
+
+    @Test
+    public void solve_smallRandomLevels_matchesBreadthFirstSearchOverGame() {
+        for (long seed = 0; seed < 150; seed++) {
+            Random random = new Random(seed);
+            int height = 2 + random.nextInt(2);
+            int width = 2 + random.nextInt(2);
+            int[][] layout = new int[height][width];
+            for (int[] row : layout) {
+                for (int col = 0; col < width; col++) {
+                    row[col] = random.nextInt(5) == 0 ? 0 : 1 + random.nextInt(16);
+                }
+            }
+            layout[0][0] = 1;
+            int[] goals = {Cells.pack(height - 1, width - 1, width), random.nextInt(height * width)};
+            Direction direction = Direction.values()[random.nextInt(4)];
+
+            Level level = new Level("Random", layout);
+            for (int goal : goals) {
+                level.addGoal(Cells.row(goal, width), Cells.column(goal, width));
+            }
+            SolverResult result = new LevelSolver(level).solve(0, 0, direction);
+
+            int expected = shortestByGame(layout, goals, direction);
+            assertEquals("seed " + seed, expected >= 0, result.isSolvable());
+            if (expected >= 0) {
+                assertEquals("seed " + seed, expected, result.getMoveCount());
+                Game game = newGame(layout, goals, direction);
+                for (int move : result.getMoves()) {
+                    assertTrue("seed " + seed, game.canMoveTo(Cells.row(move, width), Cells.column(move, width)));
+                    game.moveTo(Cells.row(move, width), Cells.column(move, width));
+                }
+                assertEquals("seed " + seed, 0, game.getGoalCount());
+            }
+        }
+    }
+
+    // Length of the shortest win found by trying every legal Game move breadth first, -1 if none
+    private static int shortestByGame(int[][] layout, int[] goals, Direction direction) {
+        Game start = newGame(layout, goals, direction);
+        if (start.getGoalCount() == 0) {
+            return 0;
+        }
+        int width = layout[0].length;
+        Set<String> seen = new HashSet<>();
+        seen.add(describe(start));
+        Queue<int[]> queue = new ArrayDeque<>();
+        queue.add(new int[0]);
+        while (!queue.isEmpty()) {
+            int[] path = queue.remove();
+            for (int target = 0; target < layout.length * width; target++) {
+                Game game = newGame(layout, goals, direction);
+                for (int move : path) {
+                    game.moveTo(Cells.row(move, width), Cells.column(move, width));
+                }
+                int row = Cells.row(target, width);
+                int col = Cells.column(target, width);
+                if (row == game.getEyeballRow() && col == game.getEyeballColumn() || !game.canMoveTo(row, col)) {
+                    continue;
+                }
+                game.moveTo(row, col);
+                int[] next = Arrays.copyOf(path, path.length + 1);
+                next[path.length] = target;
+                if (game.getGoalCount() == 0) {
+                    return next.length;
+                }
+                if (seen.add(describe(game))) {
+                    queue.add(next);
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static Game newGame(int[][] layout, int[] goals, Direction direction) {
+        int width = layout[0].length;
+        Game game = new Game();
+        game.addLevel("Random", layout);
+        for (int goal : goals) {
+            game.addGoal(Cells.row(goal, width), Cells.column(goal, width));
+        }
+        game.addEyeball(0, 0, direction);
+        return game;
+    }
+
+    private static String describe(Game game) {
+        StringBuilder description = new StringBuilder();
+        for (int row = 0; row < game.getLevelHeight(); row++) {
+            for (int col = 0; col < game.getLevelWidth(); col++) {
+                description.append(game.getTileCodeAt(row, col)).append(game.hasGoalAt(row, col) ? "g," : ",");
+            }
+        }
+        return description.append(game.getEyeballRow()).append(',').append(game.getEyeballColumn())
+                .append(game.getEyeballDirection()).toString();
+    }
+}
@@ -0,0 +1,64 @@
+package nz.ac.ara.adrianlim.eyeballmaze.tools;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import nz.ac.ara.adrianlim.eyeballmaze.enums.Direction;
+import nz.ac.ara.adrianlim.eyeballmaze.models.pack.LevelPack;
+import nz.ac.ara.adrianlim.eyeballmaze.models.pack.LevelPackWriter;
+
+import static org.junit.Assert.*;
+
+public class LevelValidatorTest {
+
+    @Test
+    public void validate_truncatedPack_reportsBadLevelAndKeepsGoing() throws IOException {
+        LevelPackWriter writer = new LevelPackWriter();
+        writer.addLevel("Good", new int[][] {{1, 1, 1}}, new int[] {2}, 0, 0, Direction.RIGHT);
+        writer.addLevel("Cut", new int[][] {{1, 1, 1}, {1, 1, 1}}, new int[] {5}, 0, 0, Direction.RIGHT);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        writer.write(bytes);
+        byte[] whole = bytes.toByteArray();
+
+        // End the pack inside the second level's tiles, past the header checks LevelPack makes
+        int secondRecord = (int) ByteBuffer.wrap(whole).getLong(12 + 8);
+        LevelPack pack = new LevelPack(ByteBuffer.wrap(Arrays.copyOf(whole, secondRecord + 2 + 3 + 10)));
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        List<LevelReport> reports;
+        try {
+            reports = new LevelValidator().validate(Collections.singletonList("cut.ebmp"),
+                    Collections.singletonList(pack), pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(2, reports.size());
+        assertTrue(reports.get(0).isValid());
+        assertTrue(reports.get(0).isSolvable());
+        assertEquals(1, reports.get(0).getOptimalMoveCount());
+        assertFalse(reports.get(1).isValid());
+        // The message depends on the JDK, the class name is used when there is none
+        assertEquals(1, reports.get(1).getErrors().size());
+        assertNotNull(reports.get(1).getErrors().get(0));
+    }
+
+    @Test
+    public void writeReport_errorWithoutMessage_writesNull() {
+        LevelReport report = new LevelReport("pack.ebmp", 0);
+        report.addError(null);
+        StringWriter out = new StringWriter();
+
+        ValidateLevels.writeReport(out, Collections.singletonList(report), Collections.<String>emptyList(), 1, 0);
+
+        assertTrue(out.toString(), out.toString().contains("\"name\": null, \"valid\": false, \"errors\": [null]"));
+    }
+}